@@ -4,14 +4,20 @@ import com.training.backend_app.dto.CourseRequest;
 import com.training.backend_app.dto.CourseResponse;
 import com.training.backend_app.dto.ModuleRequest;
 import com.training.backend_app.dto.ModuleResponse;
+import com.training.backend_app.service.CatalogVersion;
 import com.training.backend_app.service.CourseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -19,6 +25,7 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CatalogVersion catalogVersion;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -27,13 +34,19 @@ public class CourseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CourseResponse>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<List<CourseResponse>> getAllCourses(WebRequest webRequest) {
+        return conditionalGet(webRequest, courseService::getAllCourses);
+    }
+
+    @GetMapping(params = "page")
+    public ResponseEntity<Page<CourseResponse>> getCoursePage(@RequestParam("page") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size, WebRequest webRequest) {
+        return conditionalGet(webRequest, () -> courseService.getCoursePage(page, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseResponse> getCourseById(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(courseService.getCourseById(id));
+    public ResponseEntity<CourseResponse> getCourseById(@PathVariable("id") Long id, WebRequest webRequest) {
+        return conditionalGet(webRequest, () -> courseService.getCourseById(id));
     }
 
     @PostMapping("/{courseId}/modules")
@@ -44,8 +57,9 @@ public class CourseController {
     }
 
     @GetMapping("/{courseId}/modules")
-    public ResponseEntity<List<ModuleResponse>> getModulesByCourseId(@PathVariable("courseId") Long courseId) {
-        return ResponseEntity.ok(courseService.getModulesByCourseId(courseId));
+    public ResponseEntity<List<ModuleResponse>> getModulesByCourseId(@PathVariable("courseId") Long courseId,
+            WebRequest webRequest) {
+        return conditionalGet(webRequest, () -> courseService.getModulesByCourseId(courseId));
     }
 
     @PutMapping("/{courseId}")
@@ -81,4 +95,16 @@ public class CourseController {
             @Valid @RequestBody ModuleRequest request) {
         return ResponseEntity.ok(courseService.updateModule(moduleId, request));
     }
+
+    // The ETag is read before loading so a write committed mid-request only costs the client a refetch
+    private <T> ResponseEntity<T> conditionalGet(WebRequest webRequest, Supplier<T> loader) {
+        String etag = catalogVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(loader.get());
+    }
 }
@@ -1,13 +1,15 @@
 package com.training.backend_app.controller;
 
 import com.training.backend_app.dto.BulkEnrollRequest;
-import com.training.backend_app.dto.BulkUploadResponse;
 import com.training.backend_app.dto.CourseResponse;
 import com.training.backend_app.dto.EnrollmentRequest;
 import com.training.backend_app.dto.EnrollmentResponse;
+import com.training.backend_app.dto.ImportJobResponse;
 import com.training.backend_app.service.EnrollmentService;
+import com.training.backend_app.service.ImportJobService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +23,7 @@ import java.util.List;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final ImportJobService importJobService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
@@ -61,10 +64,11 @@ public class EnrollmentController {
 
     @PostMapping("/bulk-upload")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BulkUploadResponse> bulkEnrollByFile(
+    public ResponseEntity<ImportJobResponse> bulkEnrollByFile(
             @RequestParam("courseId") Long courseId,
             @RequestParam("file") MultipartFile file) {
-        return ResponseEntity.ok(enrollmentService.bulkEnrollFromFile(courseId, file));
+        // Runs as a background import job; poll /api/import-jobs/{jobId} for progress
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submitEnrollmentImport(courseId, file));
     }
 
     @GetMapping("/student/{studentId}/courses")
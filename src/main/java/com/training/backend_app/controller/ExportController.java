@@ -0,0 +1,71 @@
+package com.training.backend_app.controller;
+
+import com.training.backend_app.entity.Enrollment;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.service.DataExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final DataExportService exportService;
+
+    // format is csv (default) or xlsx; every filter is optional
+    @GetMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "role", required = false) User.Role role) {
+        DataExportService.Format exportFormat = formatOf(format);
+        return download("users", exportFormat, exportService.exportUsers(exportFormat, role));
+    }
+
+    @GetMapping("/enrollments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "courseId", required = false) Long courseId,
+            @RequestParam(value = "status", required = false) Enrollment.EnrollmentStatus status) {
+        DataExportService.Format exportFormat = formatOf(format);
+        return download("enrollments", exportFormat,
+                exportService.exportEnrollments(exportFormat, courseId, status));
+    }
+
+    @GetMapping("/timetable")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTimetable(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "weekId", required = false) Long weekId,
+            @RequestParam(value = "trainerId", required = false) Long trainerId,
+            @RequestParam(value = "courseId", required = false) Long courseId) {
+        DataExportService.Format exportFormat = formatOf(format);
+        return download("timetable", exportFormat,
+                exportService.exportTimetable(exportFormat, weekId, trainerId, courseId));
+    }
+
+    private static DataExportService.Format formatOf(String format) {
+        return DataExportService.Format.valueOf(format.toUpperCase());
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(String name, DataExportService.Format format,
+            StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.name().toLowerCase();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(format == DataExportService.Format.XLSX ? XLSX : MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+}
@@ -0,0 +1,48 @@
+package com.training.backend_app.controller;
+
+import com.training.backend_app.dto.ImportJobResponse;
+import com.training.backend_app.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/import-jobs")
+@RequiredArgsConstructor
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping("/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponse> importStudents(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submitStudentImport(file));
+    }
+
+    @PostMapping("/enrollments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponse> importEnrollments(@RequestParam("courseId") Long courseId,
+            @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submitEnrollmentImport(courseId, file));
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponse> getJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(importJobService.getJob(jobId));
+    }
+
+    @GetMapping("/{jobId}/errors")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> getErrorReport(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + jobId + "-errors.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(importJobService.getErrorReport(jobId));
+    }
+}
@@ -1,12 +1,25 @@
 package com.training.backend_app.controller;
 
+import com.training.backend_app.dto.NotificationPageResponse;
 import com.training.backend_app.dto.NotificationResponse;
+import com.training.backend_app.security.CustomUserDetails;
+import com.training.backend_app.service.NotificationPushService;
+import com.training.backend_app.service.NotificationRetentionJob;
 import com.training.backend_app.service.NotificationService;
+import com.training.backend_app.service.NotificationWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -14,26 +27,109 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationWriter notificationWriter;
+    private final NotificationPushService notificationPushService;
+    private final NotificationRetentionJob notificationRetentionJob;
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<NotificationResponse>> getUserNotifications(@PathVariable("userId") Long userId) {
         return ResponseEntity.ok(notificationService.getUserNotifications(userId));
     }
 
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<NotificationPageResponse> getNotificationPage(@PathVariable("userId") Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(notificationService.getNotificationPage(userId, cursor, limit));
+    }
+
+    @GetMapping("/user/{userId}/archive")
+    public ResponseEntity<NotificationPageResponse> getArchivedNotifications(@PathVariable("userId") Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(notificationService.getArchivedNotifications(userId, cursor, limit));
+    }
+
     @GetMapping("/user/{userId}/unread")
     public ResponseEntity<List<NotificationResponse>> getUnreadNotifications(@PathVariable("userId") Long userId) {
         return ResponseEntity.ok(notificationService.getUnreadNotifications(userId));
     }
 
+    @GetMapping("/user/{userId}/unread-count")
+    public ResponseEntity<Map<String, Integer>> getUnreadCount(@PathVariable("userId") Long userId) {
+        return ResponseEntity.ok(Map.of("unread", notificationPushService.getUnreadCount(userId)));
+    }
+
+    /**
+     * Live stream of the caller's notifications and unread count. Browsers
+     * cannot set headers on EventSource, so the token may also be passed as
+     * {@code access_token}.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal CustomUserDetails user) {
+        return notificationPushService.subscribe(user.getUserId(), user.getUser().getRole());
+    }
+
+    /**
+     * Marks one of the caller's notifications as read. Broadcast ids come from a
+     * separate sequence, so broadcasts (flagged {@code broadcast} in the
+     * responses) must be marked with {@code broadcast=true}.
+     */
     @PutMapping("/{id}/read")
-    public ResponseEntity<Void> markAsRead(@PathVariable("id") Long id) {
-        notificationService.markAsRead(id);
+    public ResponseEntity<Void> markAsRead(@AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable("id") Long id,
+            @RequestParam(value = "broadcast", defaultValue = "false") boolean broadcast) {
+        if (broadcast) {
+            notificationService.markBroadcastAsRead(user.getUserId(), id);
+        } else {
+            notificationService.markAsRead(user.getUserId(), id);
+        }
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Same as {@code PUT /{id}/read?broadcast=true}; the path user must be the
+     * caller.
+     */
+    @PutMapping("/user/{userId}/broadcasts/{id}/read")
+    public ResponseEntity<Void> markBroadcastAsRead(@AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable("userId") Long userId,
+            @PathVariable("id") Long id) {
+        if (!user.getUserId().equals(userId)) {
+            throw new RuntimeException("Notification not found");
+        }
+        notificationService.markBroadcastAsRead(user.getUserId(), id);
+        return ResponseEntity.ok().build();
+    }
+
+    @PutMapping("/user/{userId}/read-range")
+    public ResponseEntity<Map<String, Integer>> markRangeAsRead(@PathVariable("userId") Long userId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markRangeAsRead(userId, from, to)));
+    }
+
     @PutMapping("/user/{userId}/read-all")
     public ResponseEntity<Void> markAllAsRead(@PathVariable("userId") Long userId) {
         notificationService.markAllAsRead(userId);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/writer/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWriterStats() {
+        return ResponseEntity.ok(notificationWriter.getStats());
+    }
+
+    @PostMapping("/retention/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> runRetention() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(notificationRetentionJob.start());
+    }
+
+    @GetMapping("/retention/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getRetentionStatus() {
+        return ResponseEntity.ok(notificationRetentionJob.getStatus());
+    }
 }
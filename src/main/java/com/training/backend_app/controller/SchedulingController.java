@@ -1,10 +1,19 @@
 package com.training.backend_app.controller;
 
+import com.training.backend_app.dto.FreeSlotResponse;
+import com.training.backend_app.dto.FreeTrainerResponse;
 import com.training.backend_app.dto.SlotRequest;
 import com.training.backend_app.dto.SlotResponse;
+import com.training.backend_app.dto.TimetablePlanRequest;
+import com.training.backend_app.dto.TimetablePlanResponse;
+import com.training.backend_app.dto.WeekCloneRequest;
+import com.training.backend_app.dto.WeekGridRequest;
+import com.training.backend_app.dto.WeekGridResponse;
 import com.training.backend_app.dto.WeekRequest;
 import com.training.backend_app.dto.WeekResponse;
 import com.training.backend_app.service.SchedulingService;
+import com.training.backend_app.service.TimetablePlannerService;
+import com.training.backend_app.service.TrainerAvailabilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +28,8 @@ import java.util.List;
 public class SchedulingController {
 
     private final SchedulingService schedulingService;
+    private final TimetablePlannerService timetablePlannerService;
+    private final TrainerAvailabilityService trainerAvailabilityService;
 
     @PostMapping("/weeks")
     @PreAuthorize("hasRole('ADMIN')")
@@ -38,11 +49,36 @@ public class SchedulingController {
         return ResponseEntity.ok(schedulingService.createSlot(weekId, request));
     }
 
+    @PutMapping("/weeks/{weekId}/slots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WeekGridResponse> replaceWeekSlots(@PathVariable("weekId") Long weekId,
+            @Valid @RequestBody WeekGridRequest request) {
+        return ResponseEntity.ok(schedulingService.replaceWeekSlots(weekId, request));
+    }
+
+    @PostMapping("/weeks/{weekId}/clone")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<WeekGridResponse>> cloneWeek(@PathVariable("weekId") Long weekId,
+            @Valid @RequestBody WeekCloneRequest request) {
+        return ResponseEntity.ok(schedulingService.cloneWeek(weekId, request));
+    }
+
     @GetMapping("/weeks/{weekId}/slots")
     public ResponseEntity<List<SlotResponse>> getSlotsByWeekId(@PathVariable("weekId") Long weekId) {
         return ResponseEntity.ok(schedulingService.getSlotsByWeekId(weekId));
     }
 
+    @GetMapping("/slots")
+    public ResponseEntity<List<SlotResponse>> getSlots(
+            @RequestParam(value = "weekId", required = false) Long weekId,
+            @RequestParam(value = "trainerId", required = false) Long trainerId,
+            @RequestParam(value = "courseId", required = false) Long courseId,
+            @RequestParam(value = "dayOfWeek", required = false) String dayOfWeek,
+            @RequestParam(value = "fromWeek", required = false) Integer fromWeek,
+            @RequestParam(value = "toWeek", required = false) Integer toWeek) {
+        return ResponseEntity.ok(schedulingService.getSlots(weekId, trainerId, courseId, dayOfWeek, fromWeek, toWeek));
+    }
+
     @GetMapping("/trainers/{trainerId}/slots")
     public ResponseEntity<List<SlotResponse>> getSlotsByTrainerId(@PathVariable("trainerId") Long trainerId) {
         return ResponseEntity.ok(schedulingService.getSlotsByTrainerId(trainerId));
@@ -54,4 +90,22 @@ public class SchedulingController {
             @PathVariable("slotId") Long slotId, @Valid @RequestBody SlotRequest request) {
         return ResponseEntity.ok(schedulingService.updateSlot(slotId, request));
     }
+
+    @PostMapping("/plan")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TimetablePlanResponse> planTimetable(@Valid @RequestBody TimetablePlanRequest request) {
+        return ResponseEntity.ok(timetablePlannerService.plan(request));
+    }
+
+    @GetMapping("/availability/trainers")
+    public ResponseEntity<List<FreeTrainerResponse>> getFreeTrainers(@RequestParam("weekId") Long weekId,
+            @RequestParam("dayOfWeek") String dayOfWeek, @RequestParam("slotNumber") Integer slotNumber) {
+        return ResponseEntity.ok(trainerAvailabilityService.getFreeTrainers(weekId, dayOfWeek, slotNumber));
+    }
+
+    @GetMapping("/availability/trainers/{trainerId}/slots")
+    public ResponseEntity<List<FreeSlotResponse>> getFreeSlots(@PathVariable("trainerId") Long trainerId,
+            @RequestParam("fromWeek") Integer fromWeek, @RequestParam("toWeek") Integer toWeek) {
+        return ResponseEntity.ok(trainerAvailabilityService.getFreeSlots(trainerId, fromWeek, toWeek));
+    }
 }
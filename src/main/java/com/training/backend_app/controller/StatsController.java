@@ -1,16 +1,19 @@
 package com.training.backend_app.controller;
 
-import com.training.backend_app.entity.User;
-import com.training.backend_app.repository.CourseRepository;
-import com.training.backend_app.repository.EnrollmentRepository;
-import com.training.backend_app.repository.UserRepository;
-import com.training.backend_app.repository.WeekRepository;
+import com.training.backend_app.dto.ActivitySeriesResponse;
+import com.training.backend_app.dto.ApprovalRateResponse;
+import com.training.backend_app.dto.CourseFillResponse;
+import com.training.backend_app.dto.TrainerUtilizationResponse;
+import com.training.backend_app.service.ActivityRollupBackfillJob;
+import com.training.backend_app.service.ActivityRollupService;
+import com.training.backend_app.service.DashboardStatsService;
+import com.training.backend_app.service.StatsAnalyticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,27 +21,56 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class StatsController {
 
-    private final UserRepository userRepository;
-    private final CourseRepository courseRepository;
-    private final EnrollmentRepository enrollmentRepository;
-    private final WeekRepository weekRepository;
+    private final DashboardStatsService dashboardStatsService;
+    private final StatsAnalyticsService analyticsService;
+    private final ActivityRollupService rollupService;
+    private final ActivityRollupBackfillJob rollupBackfillJob;
 
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        long totalStudents = userRepository.findByRole(User.Role.STUDENT).size();
-        long totalTrainers = userRepository.findByRole(User.Role.TRAINER).size();
-        long totalCourses = courseRepository.count();
-        long totalEnrollments = enrollmentRepository.count();
-        long totalWeeks = weekRepository.count();
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("students", totalStudents);
-        stats.put("trainers", totalTrainers);
-        stats.put("courses", totalCourses);
-        stats.put("enrollments", totalEnrollments);
-        stats.put("schedules", totalWeeks);
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardStatsService.getDashboard());
+    }
+
+    @GetMapping("/courses/fill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CourseFillResponse>> getCourseFill() {
+        return ResponseEntity.ok(analyticsService.getCourseFill());
+    }
+
+    @GetMapping("/enrollments/approval-rates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ApprovalRateResponse>> getApprovalRates(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to) {
+        return ResponseEntity.ok(analyticsService.getApprovalRates(from, to));
+    }
+
+    @GetMapping("/trainers/utilization")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<TrainerUtilizationResponse>> getTrainerUtilization(
+            @RequestParam(value = "trainerId", required = false) Long trainerId,
+            @RequestParam(value = "fromWeek", required = false) Integer fromWeek,
+            @RequestParam(value = "toWeek", required = false) Integer toWeek) {
+        return ResponseEntity.ok(analyticsService.getTrainerUtilization(trainerId, fromWeek, toWeek));
+    }
+
+    // metric REGISTRATIONS or ENROLLMENTS, granularity DAY, WEEK or MONTH; dates are yyyy-MM-dd, both inclusive
+    @GetMapping("/activity")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ActivitySeriesResponse> getActivity(
+            @RequestParam("metric") String metric,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "granularity", required = false) String granularity) {
+        return ResponseEntity.ok(rollupService.getSeries(metric, from, to, granularity));
+    }
+
+    @PostMapping("/activity/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> backfillActivity(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to) {
+        return ResponseEntity.ok(rollupBackfillJob.run(from, to));
     }
 }
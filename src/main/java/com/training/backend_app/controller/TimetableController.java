@@ -1,15 +1,19 @@
 package com.training.backend_app.controller;
 
 import com.training.backend_app.dto.TimetableResponse;
+import com.training.backend_app.entity.Enrollment;
 import com.training.backend_app.service.TimetableService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/timetable")
@@ -19,7 +23,16 @@ public class TimetableController {
     private final TimetableService timetableService;
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<TimetableResponse>> getStudentTimetable(@PathVariable("studentId") Long studentId) {
-        return ResponseEntity.ok(timetableService.getStudentTimetable(studentId));
+    public ResponseEntity<List<TimetableResponse>> getStudentTimetable(@PathVariable("studentId") Long studentId,
+            @RequestParam(value = "fromWeek", required = false) Integer fromWeek,
+            @RequestParam(value = "toWeek", required = false) Integer toWeek,
+            @RequestParam(value = "status", required = false) Enrollment.EnrollmentStatus status) {
+        return ResponseEntity.ok(timetableService.getStudentTimetable(studentId, fromWeek, toWeek, status));
+    }
+
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(timetableService.getCacheStats());
     }
 }
@@ -1,11 +1,18 @@
 package com.training.backend_app.controller;
 
-import com.training.backend_app.dto.BulkUploadResponse;
+import com.training.backend_app.dto.ImportJobResponse;
+import com.training.backend_app.dto.UserDirectoryPageResponse;
+import com.training.backend_app.dto.UserSummaryResponse;
 import com.training.backend_app.entity.User;
+import com.training.backend_app.event.UserChangedEvent;
 import com.training.backend_app.repository.UserRepository;
+import com.training.backend_app.security.TokenVersionRegistry;
+import com.training.backend_app.service.ImportJobService;
 import com.training.backend_app.service.NotificationService;
 import com.training.backend_app.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,40 +31,80 @@ public class UserController {
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
+    private final ImportJobService importJobService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /*
+     * The plain list endpoints are deprecated in favour of /directory. They
+     * return at most 1,000 users, oldest first; when there are more, the
+     * X-Next-Cursor header holds the cursor for the next call.
+     */
+
+    @Deprecated
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userRepository.findAll());
+    public ResponseEntity<List<UserSummaryResponse>> getAllUsers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return summaries(userService.getUserSummaries(null, cursor, limit));
     }
 
+    @Deprecated
     @GetMapping("/role/{role}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable User.Role role) {
-        return ResponseEntity.ok(userRepository.findByRole(role));
+    public ResponseEntity<List<UserSummaryResponse>> getUsersByRole(@PathVariable User.Role role,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return summaries(userService.getUserSummaries(role, cursor, limit));
     }
 
+    @Deprecated
     @GetMapping("/trainers")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllTrainers() {
-        return ResponseEntity.ok(userRepository.findByRole(User.Role.TRAINER));
+    public ResponseEntity<List<UserSummaryResponse>> getAllTrainers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return summaries(userService.getUserSummaries(User.Role.TRAINER, cursor, limit));
     }
 
+    @Deprecated
     @GetMapping("/students")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllStudents() {
-        return ResponseEntity.ok(userRepository.findByRole(User.Role.STUDENT));
+    public ResponseEntity<List<UserSummaryResponse>> getAllStudents(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return summaries(userService.getUserSummaries(User.Role.STUDENT, cursor, limit));
+    }
+
+    private static ResponseEntity<List<UserSummaryResponse>> summaries(UserDirectoryPageResponse page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    // Filters are optional: role, q (name or email prefix), createdFrom/createdTo (yyyy-MM-dd, inclusive)
+    @GetMapping("/directory")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserDirectoryPageResponse> getDirectory(
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "createdFrom", required = false) String createdFrom,
+            @RequestParam(value = "createdTo", required = false) String createdTo,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getDirectoryPage(role, query, createdFrom, createdTo, cursor, limit));
     }
 
     @PostMapping("/bulk-upload")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BulkUploadResponse> bulkUploadStudents(@RequestParam("file") MultipartFile file) {
-        BulkUploadResponse response = userService.bulkUploadStudents(file);
-        if (response.getSuccessfulRecords() > 0) {
-            notificationService
-                    .notifyAdmins("Bulk upload completed: " + response.getSuccessfulRecords() + " students added.");
-        }
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ImportJobResponse> bulkUploadStudents(@RequestParam("file") MultipartFile file) {
+        // Runs as a background import job; poll /api/import-jobs/{jobId} for progress
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submitStudentImport(file));
     }
 
     @GetMapping("/{id}")
@@ -72,6 +119,8 @@ public class UserController {
     public ResponseEntity<User> createUser(@RequestBody User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getRole(), null,
+                UserChangedEvent.Type.CREATED));
         notificationService
                 .notifyAdmins("New " + savedUser.getRole().name().toLowerCase() + " created: " + savedUser.getName());
         return ResponseEntity.ok(savedUser);
@@ -82,6 +131,7 @@ public class UserController {
     public ResponseEntity<User> updateUser(@PathVariable("id") Long id, @RequestBody User userDetails) {
         return userRepository.findById(id)
                 .map(user -> {
+                    User.Role previousRole = user.getRole();
                     user.setName(userDetails.getName());
                     user.setEmail(userDetails.getEmail());
                     user.setPhone(userDetails.getPhone());
@@ -97,6 +147,9 @@ public class UserController {
                         user.setRole(userDetails.getRole());
                     }
                     User updatedUser = userRepository.save(user);
+                    tokenVersionRegistry.revoke(updatedUser.getId());
+                    eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), updatedUser.getRole(),
+                            previousRole, UserChangedEvent.Type.UPDATED));
                     notificationService.notifyAdmins(
                             "User updated: " + updatedUser.getName() + " (" + updatedUser.getRole() + ")");
                     return ResponseEntity.ok(updatedUser);
@@ -109,6 +162,9 @@ public class UserController {
     public ResponseEntity<Void> deleteUser(@PathVariable("id") Long id) {
         return userRepository.findById(id).map(user -> {
             userRepository.delete(user);
+            tokenVersionRegistry.revoke(user.getId());
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getRole(), null,
+                    UserChangedEvent.Type.DELETED));
             notificationService.notifyAdmins("User deleted: " + user.getName() + " (" + user.getRole() + ")");
             return ResponseEntity.ok().<Void>build();
         }).orElse(ResponseEntity.notFound().build());
@@ -0,0 +1,19 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityPointResponse {
+
+    // First day of the bucket: the day itself, the Monday of the week or the 1st of the month
+    private LocalDate bucketStart;
+    private long count;
+}
@@ -0,0 +1,25 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitySeriesResponse {
+
+    private String metric;
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private long total;
+
+    // One point per bucket in the range, empty buckets included
+    private List<ActivityPointResponse> points;
+}
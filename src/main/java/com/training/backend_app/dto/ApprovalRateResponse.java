@@ -0,0 +1,24 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApprovalRateResponse {
+
+    // Month the enrollments were requested in, yyyy-MM
+    private String month;
+    private long requested;
+    private long pending;
+    private long approved;
+    private long rejected;
+
+    // Shares of the decided (approved or rejected) requests, 0 when none were decided
+    private double approvalRate;
+    private double rejectionRate;
+}
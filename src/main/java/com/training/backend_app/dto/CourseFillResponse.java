@@ -0,0 +1,20 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseFillResponse {
+
+    private Long courseId;
+    private String courseName;
+    private long pending;
+    private long approved;
+    private long rejected;
+    private long total;
+}
@@ -9,10 +9,10 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class BulkUploadResponse {
+public class FreeSlotResponse {
 
-    private int totalRecords;
-    private int successfulRecords;
-    private int failedRecords;
-    private String message;
+    private Long weekId;
+    private Integer weekNumber;
+    private String dayOfWeek;
+    private Integer slotNumber;
 }
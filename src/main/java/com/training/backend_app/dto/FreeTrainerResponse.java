@@ -0,0 +1,16 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeTrainerResponse {
+
+    private Long trainerId;
+    private String trainerName;
+}
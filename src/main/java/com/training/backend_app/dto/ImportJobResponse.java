@@ -0,0 +1,36 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private String jobId;
+    private String type;
+    private String status;
+    private String filename;
+    private int totalRows;
+    private int processedRows;
+    private int acceptedRows;
+    private int rejectedRows;
+
+    // Errors past the per-job cap, counted but left out of the error report
+    private int omittedErrors;
+    private double rowsPerSecond;
+
+    // Throughput context: password hashing threads (student imports only) and cores of the server
+    private Integer hashingThreads;
+    private int availableCores;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,20 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageResponse {
+
+    private List<NotificationResponse> items;
+
+    // Pass back as "cursor" for the next page; null on the last page
+    private String nextCursor;
+}
@@ -16,4 +16,5 @@ public class NotificationResponse {
     private String message;
     private boolean read;
     private String createdAt;
+    private boolean broadcast;
 }
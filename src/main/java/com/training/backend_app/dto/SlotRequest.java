@@ -31,4 +31,8 @@ public class SlotRequest {
     @Min(value = 1, message = "Slot number must be between 1 and 4")
     @Max(value = 4, message = "Slot number must be between 1 and 4")
     private Integer slotNumber;
+
+    private String startTime;
+
+    private String endTime;
 }
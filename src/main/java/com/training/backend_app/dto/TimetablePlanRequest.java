@@ -0,0 +1,45 @@
+package com.training.backend_app.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimetablePlanRequest {
+
+    @NotEmpty(message = "At least one course is required")
+    private List<Long> courseIds;
+
+    // Weeks to plan into; all weeks when empty
+    private List<Long> weekIds;
+
+    // moduleId -> trainerId; modules without an entry use the course's primary trainer
+    private Map<Long, Long> trainerAssignments;
+
+    @Min(value = 1, message = "Hours per slot must be between 1 and 8")
+    @Max(value = 8, message = "Hours per slot must be between 1 and 8")
+    private Integer hoursPerSlot;
+
+    @Min(value = 1, message = "Days per week must be between 1 and 7")
+    @Max(value = 7, message = "Days per week must be between 1 and 7")
+    private Integer daysPerWeek;
+
+    @Min(value = 100, message = "Time budget must be between 100 and 30000 ms")
+    @Max(value = 30000, message = "Time budget must be between 100 and 30000 ms")
+    private Long timeBudgetMillis;
+
+    private Long seed;
+
+    // Persist the generated slots instead of only returning them
+    private boolean apply;
+}
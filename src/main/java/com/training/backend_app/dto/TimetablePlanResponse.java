@@ -0,0 +1,25 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimetablePlanResponse {
+
+    private List<SlotResponse> slots;
+    private List<Long> unscheduledModuleIds;
+    private int scheduledUnits;
+    private int unscheduledUnits;
+    private int gaps;
+    private long iterations;
+    private int workers;
+    private long elapsedMillis;
+    private boolean applied;
+}
@@ -0,0 +1,23 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerUtilizationResponse {
+
+    private Long weekId;
+    private Integer weekNumber;
+    private Long trainerId;
+    private String trainerName;
+    private long bookedSlots;
+    private int totalSlots;
+
+    // bookedSlots / totalSlots
+    private double utilization;
+}
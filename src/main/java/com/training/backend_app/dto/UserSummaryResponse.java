@@ -0,0 +1,26 @@
+package com.training.backend_app.dto;
+
+import com.training.backend_app.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+
+    private Long id;
+    private String name;
+    private String email;
+    private User.Role role;
+    private String phone;
+    private String specialization;
+    private String experience;
+    private String qualification;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.training.backend_app.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekCloneRequest {
+
+    @NotNull(message = "Number of copies is required")
+    @Min(value = 1, message = "Number of copies must be between 1 and 52")
+    @Max(value = 52, message = "Number of copies must be between 1 and 52")
+    private Integer copies;
+
+    // When false, cloning into a week that already has slots is rejected
+    private boolean replaceExisting;
+}
@@ -0,0 +1,20 @@
+package com.training.backend_app.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekGridRequest {
+
+    @NotNull(message = "Slots are required")
+    private List<@Valid SlotRequest> slots;
+}
@@ -0,0 +1,17 @@
+package com.training.backend_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekGridResponse {
+
+    private Long weekId;
+    private Integer weekNumber;
+    private int slotCount;
+}
@@ -0,0 +1,44 @@
+package com.training.backend_app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Number of registrations or enrollment requests on one day. Written by
+ * {@code ActivityRollupService} (live increments) and
+ * {@code ActivityRollupBackfillJob} (recount of past days) through SQL only.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "activity_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_activity_rollups_metric_day", columnNames = { "metric", "bucket_date" })
+})
+public class ActivityRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Metric metric;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    public enum Metric {
+        REGISTRATIONS,
+        ENROLLMENTS
+    }
+}
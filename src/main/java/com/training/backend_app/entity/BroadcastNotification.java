@@ -0,0 +1,41 @@
+package com.training.backend_app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification stored once for every user of a role. Per-user read state is
+ * kept as a watermark in {@link BroadcastReadMarker}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "broadcast_notifications", indexes = {
+        @Index(name = "idx_broadcast_role_id", columnList = "target_role, id"),
+        // History pages: WHERE target_role = ? ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_broadcast_role_created_id", columnList = "target_role, created_at, id")
+})
+public class BroadcastNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_role", nullable = false)
+    private User.Role targetRole;
+
+    @Column(nullable = false)
+    private String message;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.training.backend_app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user read watermark for broadcast notifications: every broadcast with an
+ * id up to {@code lastReadId} counts as read.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "broadcast_read_markers")
+public class BroadcastReadMarker {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long lastReadId;
+}
@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "student_id", "course_id" })
+}, indexes = {
+        @Index(name = "idx_enrollments_enrolled_at", columnList = "enrolled_at")
 })
 @Data
 @Builder
@@ -14,7 +14,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, is_read, created_at"),
+        // History pages: WHERE user_id = ? ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_notifications_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_notifications_read_created", columnList = "is_read, created_at")
+})
 public class Notification {
 
     @Id
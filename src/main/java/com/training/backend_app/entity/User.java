@@ -11,7 +11,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_at", columnList = "created_at"),
+        // Directory keyset order is id, so filters index as (column, id)
+        @Index(name = "idx_users_role_id", columnList = "role, id"),
+        @Index(name = "idx_users_name_id", columnList = "name, id"),
+        @Index(name = "idx_users_email_id", columnList = "email, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
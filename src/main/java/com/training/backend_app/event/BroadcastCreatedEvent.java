@@ -0,0 +1,11 @@
+package com.training.backend_app.event;
+
+import com.training.backend_app.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a broadcast notification for a role has been stored.
+ */
+public record BroadcastCreatedEvent(Long broadcastId, User.Role role, String message, LocalDateTime createdAt) {
+}
@@ -0,0 +1,16 @@
+package com.training.backend_app.event;
+
+/**
+ * Published whenever a course or one of its modules is written.
+ */
+public record CatalogChangedEvent(Long courseId, Type type) {
+
+    public enum Type {
+        COURSE_CREATED,
+        COURSE_UPDATED,
+        COURSE_DELETED,
+        MODULE_CREATED,
+        MODULE_UPDATED,
+        MODULE_DELETED
+    }
+}
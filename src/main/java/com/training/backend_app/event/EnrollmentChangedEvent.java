@@ -0,0 +1,15 @@
+package com.training.backend_app.event;
+
+import com.training.backend_app.entity.Enrollment;
+
+/**
+ * Published whenever an enrollment is created, changes status or is deleted.
+ * {@code previousStatus} is null for a new enrollment and {@code status} is null
+ * for a deleted one.
+ */
+public record EnrollmentChangedEvent(Long enrollmentId,
+                                     Long studentId,
+                                     Long courseId,
+                                     Enrollment.EnrollmentStatus previousStatus,
+                                     Enrollment.EnrollmentStatus status) {
+}
@@ -0,0 +1,7 @@
+package com.training.backend_app.event;
+
+/**
+ * Published when a notification has been written to the outbox.
+ */
+public record NotificationQueuedEvent(Long outboxId) {
+}
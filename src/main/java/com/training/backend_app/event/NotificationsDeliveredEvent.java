@@ -0,0 +1,14 @@
+package com.training.backend_app.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published when personal notifications have been written to
+ * {@code notifications}.
+ */
+public record NotificationsDeliveredEvent(List<Delivery> deliveries) {
+
+    public record Delivery(Long userId, String message, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.training.backend_app.event;
+
+/**
+ * Published when some of a user's notifications were marked as read.
+ */
+public record NotificationsReadEvent(Long userId) {
+}
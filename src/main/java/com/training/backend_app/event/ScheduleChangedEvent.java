@@ -0,0 +1,10 @@
+package com.training.backend_app.event;
+
+import java.util.Set;
+
+/**
+ * Published whenever slots are created or changed, with the courses whose
+ * schedule was touched.
+ */
+public record ScheduleChangedEvent(Set<Long> courseIds) {
+}
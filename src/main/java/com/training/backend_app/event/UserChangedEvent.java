@@ -0,0 +1,16 @@
+package com.training.backend_app.event;
+
+import com.training.backend_app.entity.User;
+
+/**
+ * Published whenever a user is created, updated or deleted. {@code previousRole}
+ * is only set for updates.
+ */
+public record UserChangedEvent(Long userId, User.Role role, User.Role previousRole, Type type) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
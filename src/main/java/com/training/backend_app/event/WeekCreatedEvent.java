@@ -0,0 +1,7 @@
+package com.training.backend_app.event;
+
+/**
+ * Published when a scheduling week is created.
+ */
+public record WeekCreatedEvent(Long weekId, Integer weekNumber) {
+}
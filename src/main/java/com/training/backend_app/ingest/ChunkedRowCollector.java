@@ -0,0 +1,103 @@
+package com.training.backend_app.ingest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Buffers streamed rows into fixed-size chunks and hands each full chunk to an
+ * importer. At most one chunk is held in memory, and at most {@code maxErrors}
+ * error messages; further errors are only counted. Counters are written by the
+ * reading thread only and may be read concurrently for progress reporting.
+ */
+public class ChunkedRowCollector implements TabularRowHandler {
+
+    private final int chunkSize;
+    private final int maxErrors;
+    private final Predicate<String[]> isHeader;
+    private final Function<List<ImportRow>, ImportChunkResult> chunkImporter;
+
+    private final List<ImportRow> chunk = new ArrayList<>();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+    private boolean firstRow = true;
+
+    private volatile int totalRows;
+    private volatile int processedRows;
+    private volatile int acceptedRows;
+    private volatile int omittedErrors;
+
+    /**
+     * @param isHeader      tested against the first row only; a matching row is skipped
+     * @param chunkImporter imports one chunk, typically inside its own transaction
+     */
+    public ChunkedRowCollector(int chunkSize, int maxErrors, Predicate<String[]> isHeader,
+            Function<List<ImportRow>, ImportChunkResult> chunkImporter) {
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.isHeader = isHeader;
+        this.chunkImporter = chunkImporter;
+    }
+
+    @Override
+    public void handle(int rowNumber, String[] cells) {
+        if (firstRow) {
+            firstRow = false;
+            if (isHeader.test(cells)) {
+                return;
+            }
+        }
+        totalRows++;
+        chunk.add(new ImportRow(rowNumber, cells));
+        if (chunk.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Imports the remaining partial chunk. Call once the file has been read.
+     */
+    public void flush() {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        ImportChunkResult result = chunkImporter.apply(List.copyOf(chunk));
+        int room = Math.max(0, maxErrors - errors.size());
+        List<String> chunkErrors = result.errors();
+        errors.addAll(chunkErrors.subList(0, Math.min(room, chunkErrors.size())));
+        omittedErrors += Math.max(0, chunkErrors.size() - room);
+        acceptedRows += result.accepted();
+        processedRows += chunk.size();
+        chunk.clear();
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public int getProcessedRows() {
+        return processedRows;
+    }
+
+    public int getAcceptedRows() {
+        return acceptedRows;
+    }
+
+    public int getRejectedRows() {
+        return processedRows - acceptedRows;
+    }
+
+    /**
+     * Errors beyond {@code maxErrors} that were counted but not kept.
+     */
+    public int getOmittedErrors() {
+        return omittedErrors;
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+}
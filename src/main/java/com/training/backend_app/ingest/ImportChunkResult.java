@@ -0,0 +1,9 @@
+package com.training.backend_app.ingest;
+
+import java.util.List;
+
+/**
+ * Outcome of importing one chunk: the number of accepted rows and one message per rejected row.
+ */
+public record ImportChunkResult(int accepted, List<String> errors) {
+}
@@ -0,0 +1,11 @@
+package com.training.backend_app.ingest;
+
+/**
+ * One data row of an import file.
+ */
+public record ImportRow(int rowNumber, String[] cells) {
+
+    public String cell(int index) {
+        return index < cells.length && cells[index] != null ? cells[index].trim() : "";
+    }
+}
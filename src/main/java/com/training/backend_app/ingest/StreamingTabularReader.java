@@ -0,0 +1,145 @@
+package com.training.backend_app.ingest;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads CSV and XLSX files row by row without materializing them. CSV rows are
+ * pulled lazily from the stream; XLSX sheets are parsed with the SAX event
+ * model, so only the current row is held in memory. Heap use does not depend
+ * on the file size.
+ * <p>
+ * Rows whose cells are all blank are skipped. Only the first sheet of a
+ * workbook is read.
+ */
+@Component
+public class StreamingTabularReader {
+
+    // Guards against pathological rows; no import uses more than a handful of columns
+    private static final int MAX_COLUMNS = 256;
+
+    public static boolean isSpreadsheet(String filename) {
+        return filename != null && (filename.endsWith(".xlsx") || filename.endsWith(".xls"));
+    }
+
+    public void read(String filename, Path path, TabularRowHandler handler) throws IOException {
+        if (isSpreadsheet(filename)) {
+            readXlsx(path, handler);
+        } else {
+            try (InputStream in = Files.newInputStream(path)) {
+                readCsv(in, handler);
+            }
+        }
+    }
+
+    public void readCsv(InputStream in, TabularRowHandler handler) throws IOException {
+        try (CSVReader reader = new CSVReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+            String[] record;
+            int rowNumber = 0;
+            while ((record = reader.readNext()) != null) {
+                rowNumber++;
+                if (!isBlank(record)) {
+                    handler.handle(rowNumber, record);
+                }
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException("Invalid CSV: " + e.getMessage(), e);
+        }
+    }
+
+    public void readXlsx(Path path, TabularRowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(path.toFile(), PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = xssfReader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                        new RowCollector(handler), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isBlank(String[] cells) {
+        return Arrays.stream(cells).allMatch(cell -> cell == null || cell.isBlank());
+    }
+
+    /**
+     * Collects the cells of the current row and hands the row over when it ends.
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final TabularRowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        private RowCollector(TabularRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            String[] row = cells.toArray(new String[0]);
+            if (!isBlank(row)) {
+                handler.handle(rowNum + 1, row);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Missing cells are not reported, so pad up to this cell's column
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            if (column >= MAX_COLUMNS) {
+                return;
+            }
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue == null ? "" : formattedValue);
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+            // not needed
+        }
+    }
+}
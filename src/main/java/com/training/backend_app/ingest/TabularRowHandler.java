@@ -0,0 +1,14 @@
+package com.training.backend_app.ingest;
+
+/**
+ * Receives the rows of a tabular file one at a time, in file order.
+ */
+@FunctionalInterface
+public interface TabularRowHandler {
+
+    /**
+     * @param rowNumber 1-based row number in the file, header row included
+     * @param cells     cell values of the row; missing cells are empty strings
+     */
+    void handle(int rowNumber, String[] cells);
+}
@@ -0,0 +1,26 @@
+package com.training.backend_app.planner;
+
+import java.util.BitSet;
+
+/**
+ * Solver input on a flat timeline of {@code horizon} slot positions (weeks x
+ * days x slots, in chronological order).
+ *
+ * @param courseUnits    per course, the trainer index of each slot unit in the
+ *                       order the units must be taught
+ * @param trainerBlocked per trainer, the positions already taken outside the plan
+ */
+public record TimetableProblem(int horizon, int[][] courseUnits, BitSet[] trainerBlocked) {
+
+    public int courseCount() {
+        return courseUnits.length;
+    }
+
+    public int unitCount() {
+        int count = 0;
+        for (int[] units : courseUnits) {
+            count += units.length;
+        }
+        return count;
+    }
+}
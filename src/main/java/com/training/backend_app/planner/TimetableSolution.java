@@ -0,0 +1,15 @@
+package com.training.backend_app.planner;
+
+/**
+ * Best plan found by {@link TimetableSolver}.
+ *
+ * @param unitTimes   per course, the timeline position of each unit, -1 when the
+ *                    unit could not be placed
+ * @param unscheduled number of units without a position
+ * @param gaps        idle positions between the first and last unit of each
+ *                    course, summed over courses
+ * @param iterations  local search moves evaluated over all workers
+ */
+public record TimetableSolution(int[][] unitTimes, int unscheduled, int gaps, long cost, long iterations,
+        int workers) {
+}
@@ -0,0 +1,328 @@
+package com.training.backend_app.planner;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel ruin-and-recreate local search for slot plans. Every worker builds a
+ * randomized greedy plan and then repeatedly removes a few courses and inserts
+ * them again, keeping the change unless the plan gets worse, until the time
+ * budget runs out. The best plan over all workers wins.
+ * <p>
+ * Units of a course are placed strictly one after another, so module order
+ * holds and a course never has two units at once; a trainer is never placed on
+ * a position that is blocked or taken by another unit. The cost prefers, in
+ * this order, fewer unscheduled units, fewer gaps inside courses and earlier
+ * course ends.
+ */
+@Component
+public class TimetableSolver {
+
+    private static final long UNSCHEDULED_WEIGHT = 1_000_000L;
+    private static final long GAP_WEIGHT = 100L;
+
+    // Start positions tried per course insertion, besides the earliest one
+    private static final int RANDOM_STARTS = 3;
+
+    private final int threads;
+    private final ExecutorService pool;
+
+    public TimetableSolver(@Value("${planner.threads:0}") int threads) {
+        // 0 means one worker per available core
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "timetable-solver-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public TimetableSolution solve(TimetableProblem problem, long timeBudgetMillis, long seed) {
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+
+        List<Future<Search>> futures = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            long workerSeed = seed + worker * 0x9E3779B97F4A7C15L;
+            futures.add(pool.submit(() -> new Search(problem, new Random(workerSeed)).run(deadline)));
+        }
+
+        Search best = null;
+        long iterations = 0;
+        for (Future<Search> future : futures) {
+            try {
+                Search search = future.get();
+                iterations += search.iterations;
+                if (best == null || search.bestCost < best.bestCost) {
+                    best = search;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new RuntimeException("Timetable generation interrupted");
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Timetable generation failed: " + e.getCause().getMessage());
+            }
+        }
+
+        return new TimetableSolution(best.bestTimes, best.bestUnscheduled, best.bestGaps, best.bestCost, iterations,
+                threads);
+    }
+
+    /**
+     * Search state of one worker. Not shared between threads.
+     */
+    private static final class Search {
+
+        private final TimetableProblem problem;
+        private final Random random;
+
+        private final BitSet[] busy;
+        private final int[][] times;
+        private final long[] courseCost;
+        private final int[] courseGaps;
+        private final int[] courseUnscheduled;
+        private long cost;
+
+        private int[][] bestTimes;
+        private long bestCost = Long.MAX_VALUE;
+        private int bestGaps;
+        private int bestUnscheduled;
+        private long iterations;
+
+        private Search(TimetableProblem problem, Random random) {
+            this.problem = problem;
+            this.random = random;
+
+            int courses = problem.courseCount();
+            this.busy = new BitSet[problem.trainerBlocked().length];
+            for (int trainer = 0; trainer < busy.length; trainer++) {
+                busy[trainer] = (BitSet) problem.trainerBlocked()[trainer].clone();
+            }
+            this.times = new int[courses][];
+            this.courseCost = new long[courses];
+            this.courseGaps = new int[courses];
+            this.courseUnscheduled = new int[courses];
+        }
+
+        private Search run(long deadline) {
+            int courses = problem.courseCount();
+
+            // Randomized greedy construction, longest courses first with some noise
+            Integer[] order = new Integer[courses];
+            for (int course = 0; course < courses; course++) {
+                order[course] = course;
+            }
+            double[] noise = new double[courses];
+            for (int course = 0; course < courses; course++) {
+                noise[course] = problem.courseUnits()[course].length * (0.8 + 0.4 * random.nextDouble());
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(noise[b], noise[a]));
+            for (int course : order) {
+                insert(course);
+            }
+            recordBest();
+
+            if (courses == 0) {
+                return this;
+            }
+
+            int maxRuin = Math.max(1, courses / 10);
+            int[] removed = new int[maxRuin];
+            int[][] previousTimes = new int[maxRuin][];
+
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                iterations++;
+                long before = cost;
+
+                // Ruin: take out a few distinct random courses
+                int count = 1 + random.nextInt(maxRuin);
+                int taken = 0;
+                for (int i = 0; i < count; i++) {
+                    int course = random.nextInt(courses);
+                    if (contains(removed, taken, course)) {
+                        continue;
+                    }
+                    removed[taken] = course;
+                    previousTimes[taken] = times[course];
+                    remove(course);
+                    taken++;
+                }
+
+                // Recreate in random order
+                for (int i = taken - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int swap = removed[i];
+                    removed[i] = removed[j];
+                    removed[j] = swap;
+                    int[] swapTimes = previousTimes[i];
+                    previousTimes[i] = previousTimes[j];
+                    previousTimes[j] = swapTimes;
+                }
+                for (int i = 0; i < taken; i++) {
+                    insert(removed[i]);
+                }
+
+                if (cost <= before) {
+                    if (cost < bestCost) {
+                        recordBest();
+                    }
+                } else {
+                    // Undo: drop the new placements, then restore the old ones
+                    for (int i = 0; i < taken; i++) {
+                        remove(removed[i]);
+                    }
+                    for (int i = 0; i < taken; i++) {
+                        place(removed[i], previousTimes[i]);
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Inserts a course at the cheapest of a few start positions: the earliest
+         * feasible one and some random ones.
+         */
+        private void insert(int course) {
+            int[] units = problem.courseUnits()[course];
+            int[] bestPlacement = greedyFrom(units, 0);
+            long bestScore = score(bestPlacement);
+
+            for (int attempt = 0; attempt < RANDOM_STARTS && problem.horizon() > 0; attempt++) {
+                int[] placement = greedyFrom(units, random.nextInt(problem.horizon()));
+                long placementScore = score(placement);
+                if (placementScore < bestScore) {
+                    bestPlacement = placement;
+                    bestScore = placementScore;
+                }
+            }
+            place(course, bestPlacement);
+        }
+
+        /**
+         * Places the units one after another, each on the first position at or
+         * after {@code start} where its trainer is free.
+         */
+        private int[] greedyFrom(int[] units, int start) {
+            int[] placement = new int[units.length];
+            int position = start;
+            for (int unit = 0; unit < units.length; unit++) {
+                int trainer = units[unit];
+                if (position < problem.horizon() && trainer >= 0) {
+                    position = busy[trainer].nextClearBit(position);
+                }
+                if (position >= problem.horizon()) {
+                    placement[unit] = -1;
+                } else {
+                    placement[unit] = position;
+                    position++;
+                }
+            }
+            return placement;
+        }
+
+        private void place(int course, int[] placement) {
+            int[] units = problem.courseUnits()[course];
+            for (int unit = 0; unit < units.length; unit++) {
+                if (placement[unit] >= 0 && units[unit] >= 0) {
+                    busy[units[unit]].set(placement[unit]);
+                }
+            }
+            times[course] = placement;
+            courseUnscheduled[course] = unscheduled(placement);
+            courseGaps[course] = gaps(placement);
+            courseCost[course] = score(placement);
+            cost += courseCost[course];
+        }
+
+        private void remove(int course) {
+            int[] placement = times[course];
+            int[] units = problem.courseUnits()[course];
+            for (int unit = 0; unit < units.length; unit++) {
+                if (placement[unit] >= 0 && units[unit] >= 0) {
+                    busy[units[unit]].clear(placement[unit]);
+                }
+            }
+            cost -= courseCost[course];
+            courseCost[course] = 0;
+        }
+
+        private static long score(int[] placement) {
+            return unscheduled(placement) * UNSCHEDULED_WEIGHT + gaps(placement) * GAP_WEIGHT
+                    + Math.max(last(placement), 0);
+        }
+
+        private static int unscheduled(int[] placement) {
+            int count = 0;
+            for (int position : placement) {
+                if (position < 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // Placed units are strictly increasing, so the span is last - first
+        private static int gaps(int[] placement) {
+            int first = -1;
+            int placed = 0;
+            for (int position : placement) {
+                if (position >= 0) {
+                    if (first < 0) {
+                        first = position;
+                    }
+                    placed++;
+                }
+            }
+            return placed > 0 ? (last(placement) - first + 1) - placed : 0;
+        }
+
+        private static int last(int[] placement) {
+            for (int unit = placement.length - 1; unit >= 0; unit--) {
+                if (placement[unit] >= 0) {
+                    return placement[unit];
+                }
+            }
+            return -1;
+        }
+
+        private void recordBest() {
+            bestCost = cost;
+            bestTimes = new int[times.length][];
+            bestGaps = 0;
+            bestUnscheduled = 0;
+            for (int course = 0; course < times.length; course++) {
+                bestTimes[course] = times[course].clone();
+                bestGaps += courseGaps[course];
+                bestUnscheduled += courseUnscheduled[course];
+            }
+        }
+
+        private static boolean contains(int[] values, int length, int value) {
+            for (int i = 0; i < length; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
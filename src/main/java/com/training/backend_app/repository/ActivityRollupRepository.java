@@ -0,0 +1,15 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.ActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, Long> {
+
+    List<ActivityRollup> findByMetricAndBucketDateBetweenOrderByBucketDate(ActivityRollup.Metric metric,
+            LocalDate from, LocalDate to);
+}
@@ -0,0 +1,16 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.ArchivedNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+
+    List<ArchivedNotification> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    List<ArchivedNotification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable pageable);
+}
@@ -0,0 +1,36 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.BroadcastNotification;
+import com.training.backend_app.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+
+    List<BroadcastNotification> findByTargetRoleAndCreatedAtGreaterThanEqualOrderByIdDesc(User.Role targetRole,
+            LocalDateTime since);
+
+    List<BroadcastNotification> findByTargetRoleAndIdGreaterThanAndCreatedAtGreaterThanEqualOrderByIdDesc(
+            User.Role targetRole, Long afterId, LocalDateTime since);
+
+    long countByTargetRoleAndIdGreaterThanAndCreatedAtGreaterThanEqual(User.Role targetRole, Long afterId,
+            LocalDateTime since);
+
+    List<BroadcastNotification> findByTargetRoleAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdDesc(
+            User.Role targetRole, LocalDateTime since, Pageable pageable);
+
+    @Query("SELECT b FROM BroadcastNotification b WHERE b.targetRole = :targetRole AND b.createdAt >= :since "
+            + "AND (b.createdAt < :before OR (b.createdAt = :before AND b.id < :beforeId)) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastNotification> findPageBefore(User.Role targetRole, LocalDateTime since, LocalDateTime before,
+            Long beforeId, Pageable pageable);
+
+    @Query("SELECT MAX(b.id) FROM BroadcastNotification b WHERE b.targetRole = :targetRole")
+    Long findMaxIdByTargetRole(User.Role targetRole);
+}
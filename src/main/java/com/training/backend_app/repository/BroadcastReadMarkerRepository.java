@@ -0,0 +1,9 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.BroadcastReadMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BroadcastReadMarkerRepository extends JpaRepository<BroadcastReadMarker, Long> {
+}
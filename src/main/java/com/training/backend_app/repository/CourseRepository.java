@@ -1,9 +1,16 @@
 package com.training.backend_app.repository;
 
 import com.training.backend_app.entity.Course;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,15 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByName(String name);
     
     boolean existsByName(String name);
+
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.primaryTrainer")
+    List<Course> findAllWithPrimaryTrainer();
+
+    @Query(value = "SELECT c FROM Course c LEFT JOIN FETCH c.primaryTrainer",
+            countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<Course> findAllWithPrimaryTrainer(Pageable pageable);
+
+    // Serializes writers that plan whole courses
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Course> findByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,18 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.Enrollment;
+
+/**
+ * Enrollments of one course in one status. Courses without enrollments come
+ * back once with a null status and a zero count.
+ */
+public interface CourseStatusCountView {
+
+    Long getCourseId();
+
+    String getCourseName();
+
+    Enrollment.EnrollmentStatus getStatus();
+
+    long getCount();
+}
@@ -2,10 +2,13 @@ package com.training.backend_app.repository;
 
 import com.training.backend_app.entity.Enrollment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -17,4 +20,22 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
     
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId")
+    Set<Long> findCourseIdsByStudentId(Long studentId);
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id IN :studentIds")
+    Set<Long> findStudentIdsByCourseIdAndStudentIdIn(Long courseId, Collection<Long> studentIds);
+
+    @Query("SELECT e.status AS status, COUNT(e) AS count FROM Enrollment e GROUP BY e.status")
+    List<StatusCountView> countByStatus();
+
+    @Query("SELECT c.id AS courseId, c.name AS courseName, e.status AS status, COUNT(e) AS count "
+            + "FROM Course c LEFT JOIN Enrollment e ON e.course = c GROUP BY c.id, c.name, e.status")
+    List<CourseStatusCountView> countByCourseAndStatus();
+
+    @Query("SELECT YEAR(e.enrolledAt) AS enrolledYear, MONTH(e.enrolledAt) AS enrolledMonth, "
+            + "e.status AS status, COUNT(e) AS count FROM Enrollment e WHERE e.enrolledAt IS NOT NULL "
+            + "GROUP BY YEAR(e.enrolledAt), MONTH(e.enrolledAt), e.status")
+    List<MonthlyStatusCountView> countByMonthAndStatus();
 }
@@ -4,6 +4,7 @@ import com.training.backend_app.entity.Module;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +14,6 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
     List<Module> findByCourseId(Long courseId);
     
     Optional<Module> findByIdAndCourseId(Long id, Long courseId);
+
+    List<Module> findByCourseIdIn(Collection<Long> courseIds);
 }
@@ -0,0 +1,17 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.Enrollment;
+
+/**
+ * Enrollments requested in one calendar month that are now in one status.
+ */
+public interface MonthlyStatusCountView {
+
+    Integer getEnrolledYear();
+
+    Integer getEnrolledMonth();
+
+    Enrollment.EnrollmentStatus getStatus();
+
+    long getCount();
+}
@@ -1,9 +1,13 @@
 package com.training.backend_app.repository;
 
 import com.training.backend_app.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +15,22 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
+
+    long countByUserIdAndReadFalse(Long userId);
+
+    List<Notification> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId "
+            + "AND (n.createdAt < :before OR (n.createdAt = :before AND n.id < :beforeId)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageBefore(Long userId, LocalDateTime before, Long beforeId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsRead(Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false "
+            + "AND n.createdAt >= :from AND n.createdAt <= :to")
+    int markRangeAsRead(Long userId, LocalDateTime from, LocalDateTime to);
 }
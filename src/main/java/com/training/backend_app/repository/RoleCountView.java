@@ -0,0 +1,13 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.User;
+
+/**
+ * Number of users holding a role, from a grouped COUNT query.
+ */
+public interface RoleCountView {
+
+    User.Role getRole();
+
+    long getCount();
+}
@@ -0,0 +1,18 @@
+package com.training.backend_app.repository;
+
+import java.time.DayOfWeek;
+
+/**
+ * The (week, trainer, day, slot) coordinates of a booked slot, without loading
+ * the slot entity or its associations.
+ */
+public interface SlotBookingView {
+
+    Long getWeekId();
+
+    Long getTrainerId();
+
+    DayOfWeek getDayOfWeek();
+
+    Integer getSlotNumber();
+}
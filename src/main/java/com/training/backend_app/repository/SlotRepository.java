@@ -2,29 +2,48 @@ package com.training.backend_app.repository;
 
 import com.training.backend_app.entity.Slot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface SlotRepository extends JpaRepository<Slot, Long> {
+public interface SlotRepository extends JpaRepository<Slot, Long>, SlotViewQueries {
 
     List<Slot> findByWeekId(Long weekId);
 
     Optional<Slot> findByWeekIdAndDayOfWeekAndSlotNumber(Long weekId, DayOfWeek dayOfWeek, Integer slotNumber);
 
-    @Query("SELECT s FROM Slot s WHERE s.trainer.id = :trainerId AND s.dayOfWeek = :dayOfWeek AND s.slotNumber = :slotNumber")
-    Optional<Slot> findByTrainerAndDayAndSlot(Long trainerId, DayOfWeek dayOfWeek, Integer slotNumber);
-
     List<Slot> findByModuleId(Long moduleId);
 
-    boolean existsByWeekIdAndTrainerIdAndDayOfWeekAndSlotNumber(Long weekId, Long trainerId, DayOfWeek dayOfWeek,
-            Integer slotNumber);
-
     List<Slot> findByTrainerId(Long trainerId);
 
     List<Slot> findByCourseId(Long courseId);
+
+    @Query("SELECT s.week.id AS weekId, s.trainer.id AS trainerId, s.dayOfWeek AS dayOfWeek, "
+            + "s.slotNumber AS slotNumber FROM Slot s WHERE s.trainer IS NOT NULL")
+    List<SlotBookingView> findAllTrainerBookings();
+
+    @Query("SELECT w.id AS weekId, w.weekNumber AS weekNumber, t.id AS trainerId, t.name AS trainerName, "
+            + "COUNT(s) AS bookedSlots FROM Slot s JOIN s.week w JOIN s.trainer t "
+            + "GROUP BY w.id, w.weekNumber, t.id, t.name")
+    List<TrainerWeekLoadView> countSlotsByWeekAndTrainer();
+
+    @Query("SELECT DISTINCT s.course.id FROM Slot s WHERE s.week.id IN :weekIds AND s.course IS NOT NULL")
+    Set<Long> findCourseIdsByWeekIdIn(Collection<Long> weekIds);
+
+    @Query("SELECT DISTINCT s.course.id FROM Slot s WHERE s.course.id IN :courseIds")
+    Set<Long> findScheduledCourseIds(Collection<Long> courseIds);
+
+    @Query("SELECT DISTINCT s.week.id FROM Slot s WHERE s.week.id IN :weekIds")
+    Set<Long> findWeekIdsWithSlots(Collection<Long> weekIds);
+
+    @Modifying
+    @Query("DELETE FROM Slot s WHERE s.week.id IN :weekIds")
+    int deleteByWeekIdIn(Collection<Long> weekIds);
 }
@@ -0,0 +1,27 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.Enrollment;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+/**
+ * Timetable listings whose query only carries the filters actually given, so
+ * each combination is a plain predicate the slot and week indexes can serve.
+ */
+public interface SlotViewQueries {
+
+    /**
+     * Slots of the courses the student is enrolled in, optionally limited to one
+     * enrollment status and a week number range. Unordered.
+     */
+    List<TimetableSlotView> findTimetableForStudent(Long studentId, Enrollment.EnrollmentStatus status,
+            Integer fromWeek, Integer toWeek);
+
+    /**
+     * Slots matching the non-null filters; the week range is inclusive.
+     * Unordered.
+     */
+    List<TimetableSlotView> findSlotViews(Long weekId, Long trainerId, Long courseId, DayOfWeek dayOfWeek,
+            Integer fromWeek, Integer toWeek);
+}
@@ -0,0 +1,115 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.Enrollment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL implementation of {@link SlotViewQueries}: a fixed select and join
+ * list, followed by one condition per filter that is set.
+ */
+class SlotViewQueriesImpl implements SlotViewQueries {
+
+    private static final String SELECT = "SELECT s.id AS slotId, w.id AS weekId, w.weekNumber AS weekNumber, "
+            + "c.id AS courseId, c.name AS courseName, m.id AS moduleId, m.name AS moduleName, "
+            + "t.id AS trainerId, t.name AS trainerName, s.dayOfWeek AS dayOfWeek, s.slotNumber AS slotNumber ";
+
+    private static final String STUDENT_TIMETABLE = SELECT
+            + "FROM Slot s JOIN s.week w JOIN s.module m JOIN m.course c "
+            + "JOIN Enrollment e ON e.course = c LEFT JOIN s.trainer t";
+
+    private static final String SLOTS = SELECT
+            + "FROM Slot s JOIN s.week w LEFT JOIN s.course c LEFT JOIN s.module m LEFT JOIN s.trainer t";
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TimetableSlotView> findTimetableForStudent(Long studentId, Enrollment.EnrollmentStatus status,
+            Integer fromWeek, Integer toWeek) {
+        Filter filter = new Filter();
+        filter.add("e.student.id = :studentId", "studentId", studentId);
+        if (status != null) {
+            filter.add("e.status = :status", "status", status);
+        }
+        addWeekRange(filter, fromWeek, toWeek);
+        return query(STUDENT_TIMETABLE, filter);
+    }
+
+    @Override
+    public List<TimetableSlotView> findSlotViews(Long weekId, Long trainerId, Long courseId, DayOfWeek dayOfWeek,
+            Integer fromWeek, Integer toWeek) {
+        Filter filter = new Filter();
+        if (weekId != null) {
+            filter.add("w.id = :weekId", "weekId", weekId);
+        }
+        if (trainerId != null) {
+            filter.add("t.id = :trainerId", "trainerId", trainerId);
+        }
+        if (courseId != null) {
+            filter.add("c.id = :courseId", "courseId", courseId);
+        }
+        if (dayOfWeek != null) {
+            filter.add("s.dayOfWeek = :dayOfWeek", "dayOfWeek", dayOfWeek);
+        }
+        addWeekRange(filter, fromWeek, toWeek);
+        return query(SLOTS, filter);
+    }
+
+    private static void addWeekRange(Filter filter, Integer fromWeek, Integer toWeek) {
+        if (fromWeek != null) {
+            filter.add("w.weekNumber >= :fromWeek", "fromWeek", fromWeek);
+        }
+        if (toWeek != null) {
+            filter.add("w.weekNumber <= :toWeek", "toWeek", toWeek);
+        }
+    }
+
+    private List<TimetableSlotView> query(String select, Filter filter) {
+        StringBuilder jpql = new StringBuilder(select);
+        if (!filter.conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", filter.conditions));
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        filter.parameters.forEach(query::setParameter);
+
+        List<TimetableSlotView> views = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            views.add(toView(tuple));
+        }
+        return views;
+    }
+
+    private static TimetableSlotView toView(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            values.put(element.getAlias(), tuple.get(element));
+        }
+        return PROJECTIONS.createProjection(TimetableSlotView.class, values);
+    }
+
+    private static final class Filter {
+
+        private final List<String> conditions = new ArrayList<>();
+        private final Map<String, Object> parameters = new HashMap<>();
+
+        void add(String condition, String parameter, Object value) {
+            conditions.add(condition);
+            parameters.put(parameter, value);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.Enrollment;
+
+/**
+ * Number of enrollments in a status, from a grouped COUNT query.
+ */
+public interface StatusCountView {
+
+    Enrollment.EnrollmentStatus getStatus();
+
+    long getCount();
+}
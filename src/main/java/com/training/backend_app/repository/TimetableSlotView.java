@@ -0,0 +1,39 @@
+package com.training.backend_app.repository;
+
+import java.time.DayOfWeek;
+import java.util.Comparator;
+
+/**
+ * Flat projection of one slot row, resolved in a single joined query instead of
+ * walking the slot's lazy associations. Used for student timetables and slot
+ * listings.
+ */
+public interface TimetableSlotView {
+
+    Comparator<TimetableSlotView> CHRONOLOGICAL = Comparator
+            .comparing(TimetableSlotView::getWeekNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TimetableSlotView::getDayOfWeek)
+            .thenComparing(TimetableSlotView::getSlotNumber);
+
+    Long getSlotId();
+
+    Long getWeekId();
+
+    Integer getWeekNumber();
+
+    Long getCourseId();
+
+    String getCourseName();
+
+    Long getModuleId();
+
+    String getModuleName();
+
+    Long getTrainerId();
+
+    String getTrainerName();
+
+    DayOfWeek getDayOfWeek();
+
+    Integer getSlotNumber();
+}
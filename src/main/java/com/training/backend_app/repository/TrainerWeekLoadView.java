@@ -0,0 +1,17 @@
+package com.training.backend_app.repository;
+
+/**
+ * Number of slots a trainer teaches in one week.
+ */
+public interface TrainerWeekLoadView {
+
+    Long getWeekId();
+
+    Integer getWeekNumber();
+
+    Long getTrainerId();
+
+    String getTrainerName();
+
+    long getBookedSlots();
+}
@@ -0,0 +1,21 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Directory pages whose query is built from the filters actually given, so
+ * every combination gets a plain predicate the indexes can serve.
+ */
+public interface UserDirectoryQueries {
+
+    /**
+     * Users matching the non-null filters, newest first, at most {@code limit}.
+     * The prefix matches name or email, carries its own trailing % and escapes
+     * with '!'.
+     */
+    List<UserDirectoryView> findDirectoryPage(User.Role role, String prefix, LocalDateTime createdFrom,
+            LocalDateTime createdBefore, Long beforeId, int limit);
+}
@@ -0,0 +1,103 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Criteria implementation of {@link UserDirectoryQueries}. A name-or-email
+ * prefix runs as two queries, one per column, each a range scan on its own
+ * index, and the two id-ordered results are merged. The range is not in id
+ * order, so its matches are sorted; callers keep it small by requiring a
+ * minimum prefix length.
+ */
+class UserDirectoryQueriesImpl implements UserDirectoryQueries {
+
+    private static final String[] COLUMNS = { "id", "name", "email", "role", "phone", "specialization",
+            "experience", "qualification", "createdAt" };
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserDirectoryView> findDirectoryPage(User.Role role, String prefix, LocalDateTime createdFrom,
+            LocalDateTime createdBefore, Long beforeId, int limit) {
+        if (prefix == null) {
+            return query(role, null, null, createdFrom, createdBefore, beforeId, limit);
+        }
+
+        // Both lists are newest first; a user matching on both columns appears once
+        Map<Long, UserDirectoryView> merged = new TreeMap<>(Comparator.reverseOrder());
+        for (String column : new String[] { "name", "email" }) {
+            for (UserDirectoryView view : query(role, column, prefix, createdFrom, createdBefore, beforeId, limit)) {
+                merged.putIfAbsent(view.getId(), view);
+            }
+        }
+        return merged.values().stream().limit(limit).toList();
+    }
+
+    private List<UserDirectoryView> query(User.Role role, String prefixColumn, String prefix,
+            LocalDateTime createdFrom, LocalDateTime createdBefore, Long beforeId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> user = query.from(User.class);
+
+        query.multiselect(Arrays.stream(COLUMNS)
+                .<Selection<?>>map(column -> user.get(column).alias(column))
+                .toList());
+
+        List<Predicate> where = new ArrayList<>();
+        if (role != null) {
+            where.add(cb.equal(user.get("role"), role));
+        }
+        if (prefixColumn != null) {
+            where.add(cb.like(user.get(prefixColumn), prefix, '!'));
+        }
+        if (createdFrom != null) {
+            where.add(cb.greaterThanOrEqualTo(user.get("createdAt"), createdFrom));
+        }
+        if (createdBefore != null) {
+            where.add(cb.lessThan(user.get("createdAt"), createdBefore));
+        }
+        if (beforeId != null) {
+            where.add(cb.lessThan(user.get("id"), beforeId));
+        }
+        query.where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(user.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(UserDirectoryQueriesImpl::toView)
+                .toList();
+    }
+
+    private static UserDirectoryView toView(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            values.put(element.getAlias(), tuple.get(element));
+        }
+        return PROJECTIONS.createProjection(UserDirectoryView.class, values);
+    }
+}
@@ -0,0 +1,29 @@
+package com.training.backend_app.repository;
+
+import com.training.backend_app.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * The listing columns of a user: no password hash and no bio.
+ */
+public interface UserDirectoryView {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    User.Role getRole();
+
+    String getPhone();
+
+    String getSpecialization();
+
+    String getExperience();
+
+    String getQualification();
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,18 +1,37 @@
 package com.training.backend_app.repository;
 
 import com.training.backend_app.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserDirectoryQueries {
 
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
     List<User> findByRole(User.Role role);
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    @Query("SELECT u.id FROM User u WHERE u.email IN :emails")
+    List<Long> findIdsByEmailIn(Collection<String> emails);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    @Query("SELECT u.role AS role, COUNT(u) AS count FROM User u GROUP BY u.role")
+    List<RoleCountView> countByRole();
+
+    List<UserDirectoryView> findViewsByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<UserDirectoryView> findViewsByRoleAndIdGreaterThanOrderByIdAsc(User.Role role, Long afterId, Limit limit);
 }
@@ -4,6 +4,7 @@ import com.training.backend_app.entity.Week;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +13,6 @@ public interface WeekRepository extends JpaRepository<Week, Long> {
     Optional<Week> findByWeekNumber(Integer weekNumber);
     
     boolean existsByWeekNumber(Integer weekNumber);
+
+    List<Week> findByWeekNumberBetween(Integer from, Integer to);
 }
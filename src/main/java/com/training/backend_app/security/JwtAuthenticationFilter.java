@@ -1,5 +1,6 @@
 package com.training.backend_app.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,8 +19,11 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/api/notifications/stream";
+
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -36,20 +40,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String jwt;
         final String userEmail;
 
-        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            jwt = authorizationHeader.substring(7);
+        } else if (STREAM_PATH.equals(request.getServletPath()) && request.getParameter("access_token") != null) {
+            // EventSource cannot send headers, so the notification stream accepts the token as a parameter
+            jwt = request.getParameter("access_token");
+        } else {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authorizationHeader.substring(7);
-
         try {
-            userEmail = jwtUtil.extractUsername(jwt);
+            // Single verification per request; the parsed claims are reused below
+            Claims claims = jwtUtil.verifyToken(jwt);
+            userEmail = claims.getSubject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = null;
+                if (tokenVersionRegistry.canTrustClaims(claims)) {
+                    // Principal is embedded in the token; revoked tokens are simply not authenticated
+                    if (tokenVersionRegistry.isCurrent(claims)) {
+                        userDetails = jwtUtil.buildUserDetails(claims);
+                    }
+                } else {
+                    // Legacy token or issued before this instance started
+                    userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                }
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (userDetails != null && jwtUtil.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authenticationToken = 
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
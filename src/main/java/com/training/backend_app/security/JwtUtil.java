@@ -1,29 +1,107 @@
 package com.training.backend_app.security;
 
+import com.training.backend_app.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Key and parser are immutable and thread-safe, so they are built once instead of per call
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Verified claims keyed by token digest. Lock-free on the request path; entries
+    // leave when their token expires, either on lookup or in a sweep once the cache is full
+    private final Map<String, Claims> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public JwtUtil(TokenVersionRegistry tokenVersionRegistry) {
+        this.tokenVersionRegistry = tokenVersionRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    /**
+     * Verifies the token signature and expiry and returns its claims. A token is
+     * only cryptographically verified once; later calls are served from the cache
+     * until the token expires.
+     */
+    public Claims verifyToken(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                return cached;
+            }
+            verifiedTokens.remove(digest);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        cache(digest, claims);
+        return claims;
+    }
+
+    /**
+     * Caches verified claims. When the cache is full one caller sweeps out the
+     * expired tokens; if it is still full the claims are simply not cached, so
+     * the token is verified again next time.
+     */
+    private void cache(String digest, Claims claims) {
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            if (sweeping.compareAndSet(false, true)) {
+                try {
+                    verifiedTokens.values().removeIf(this::isExpired);
+                } finally {
+                    sweeping.set(false);
+                }
+            }
+            if (verifiedTokens.size() >= cacheMaxEntries) {
+                return;
+            }
+        }
+        verifiedTokens.put(digest, claims);
     }
 
     public String extractUsername(String token) {
@@ -40,22 +118,50 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifyToken(token);
     }
 
     private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isExpired(extractAllClaims(token));
+    }
+
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            User user = customUserDetails.getUser();
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_TOKEN_VERSION, tokenVersionRegistry.currentVersion(user.getId()));
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Rebuilds the principal from the token claims alone, without a database
+     * lookup. Only meaningful for tokens that carry the user id and role.
+     */
+    public CustomUserDetails buildUserDetails(Claims claims) {
+        User user = User.builder()
+                .id(((Number) claims.get(CLAIM_USER_ID)).longValue())
+                .email(claims.getSubject())
+                .role(User.Role.valueOf(claims.get(CLAIM_ROLE, String.class)))
+                .build();
+        return new CustomUserDetails(user);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
@@ -67,7 +173,11 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isExpired(claims));
     }
 }
@@ -0,0 +1,49 @@
+package com.training.backend_app.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token version per user. Issued tokens carry the version that was
+ * current at login; bumping it revokes every token issued before the change.
+ * <p>
+ * The map does not survive a restart, so claims of tokens issued before this
+ * instance started cannot be trusted on their own and the caller falls back to
+ * loading the user from the database.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    // JWT dates have second precision
+    private final long startedAtMillis = (System.currentTimeMillis() / 1000) * 1000;
+
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public void revoke(Long userId) {
+        if (userId != null) {
+            versions.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    public boolean canTrustClaims(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return claims.get(JwtUtil.CLAIM_USER_ID) != null
+                && claims.get(JwtUtil.CLAIM_TOKEN_VERSION) != null
+                && issuedAt != null
+                && issuedAt.getTime() >= startedAtMillis;
+    }
+
+    public boolean isCurrent(Claims claims) {
+        Long userId = ((Number) claims.get(JwtUtil.CLAIM_USER_ID)).longValue();
+        int version = ((Number) claims.get(JwtUtil.CLAIM_TOKEN_VERSION)).intValue();
+        return version == currentVersion(userId);
+    }
+}
@@ -0,0 +1,178 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.entity.ActivityRollup;
+import com.training.backend_app.repository.ActivityRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recounts {@code activity_rollups} for past days from {@code users.created_at}
+ * and {@code enrollments.enrolled_at}, one month per transaction with a pause
+ * in between. Each month's rows are replaced, so reruns are safe and rows
+ * deleted since are dropped from the counts. The current day is left to the
+ * live increments of {@link ActivityRollupService}; yesterday is recounted
+ * nightly to settle it.
+ */
+@Component
+public class ActivityRollupBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityRollupBackfillJob.class);
+
+    private static final String COUNT_REGISTRATIONS = "SELECT DATE(created_at) AS day, COUNT(*) AS total FROM users "
+            + "WHERE created_at >= ? AND created_at < ? GROUP BY DATE(created_at)";
+
+    private static final String COUNT_ENROLLMENTS = "SELECT DATE(enrolled_at) AS day, COUNT(*) AS total "
+            + "FROM enrollments WHERE enrolled_at >= ? AND enrolled_at < ? GROUP BY DATE(enrolled_at)";
+
+    private static final String INSERT_ROW =
+            "INSERT INTO activity_rollups (metric, bucket_date, event_count) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityRollupRepository rollupRepository;
+    private final ActivityRollupService rollupService;
+
+    private final boolean backfillWhenEmpty;
+    private final long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ActivityRollupBackfillJob(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     ActivityRollupRepository rollupRepository,
+                                     ActivityRollupService rollupService,
+                                     @Value("${rollups.backfill.when-empty:true}") boolean backfillWhenEmpty,
+                                     @Value("${rollups.backfill.pause-ms:200}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupRepository = rollupRepository;
+        this.rollupService = rollupService;
+        this.backfillWhenEmpty = backfillWhenEmpty;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillIfEmpty() {
+        if (backfillWhenEmpty && rollupRepository.count() == 0) {
+            Thread thread = new Thread(() -> run(null, null), "rollup-backfill");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Scheduled(cron = "${rollups.backfill.cron:0 15 0 * * *}")
+    public void recountYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        run(yesterday.toString(), yesterday.toString());
+    }
+
+    /**
+     * Recounts the days between {@code fromDate} and {@code toDate}, both
+     * inclusive, unless a backfill is already in progress. Defaults to the
+     * first recorded day and yesterday; days from today on are skipped.
+     */
+    public Map<String, Object> run(String fromDate, String toDate) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate to = toDate != null ? LocalDate.parse(toDate) : yesterday;
+        if (to.isAfter(yesterday)) {
+            to = yesterday;
+        }
+        LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : firstRecordedDay();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from != null ? from.toString() : null);
+        result.put("to", to.toString());
+        if (from == null || from.isAfter(to)) {
+            result.put("status", "NOTHING_TO_DO");
+            return result;
+        }
+        if (!running.compareAndSet(false, true)) {
+            result.put("status", "ALREADY_RUNNING");
+            return result;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        int rows = 0;
+        int months = 0;
+        try {
+            for (LocalDate start = from; !start.isAfter(to); start = start.withDayOfMonth(1).plusMonths(1)) {
+                LocalDate monthEnd = start.withDayOfMonth(start.lengthOfMonth());
+                LocalDate end = monthEnd.isBefore(to) ? monthEnd : to;
+                LocalDate chunkStart = start;
+                // Increments still buffered for these days are dropped once the recount commits
+                Integer written = rollupService.replaceDays(chunkStart, end,
+                        () -> transactionTemplate.execute(status -> recount(chunkStart, end)));
+                rows += written != null ? written : 0;
+                months++;
+                if (!end.equals(to)) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+            result.put("status", "COMPLETED");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.put("status", "INTERRUPTED");
+        } finally {
+            running.set(false);
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        logger.info("Activity rollup backfill {}..{} wrote {} rows over {} months, {} ms", from, to, rows, months,
+                elapsed);
+        result.put("rows", rows);
+        result.put("months", months);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    private LocalDate firstRecordedDay() {
+        Timestamp firstUser = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM users", Timestamp.class);
+        Timestamp firstEnrollment =
+                jdbcTemplate.queryForObject("SELECT MIN(enrolled_at) FROM enrollments", Timestamp.class);
+        LocalDate first = null;
+        for (Timestamp timestamp : new Timestamp[] { firstUser, firstEnrollment }) {
+            if (timestamp != null) {
+                LocalDate day = timestamp.toLocalDateTime().toLocalDate();
+                first = first == null || day.isBefore(first) ? day : first;
+            }
+        }
+        return first;
+    }
+
+    // Replaces the rows of [from, to] with fresh counts; returns the number of rows written
+    private int recount(LocalDate from, LocalDate to) {
+        Timestamp lower = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp upper = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (ActivityRollup.Metric metric : ActivityRollup.Metric.values()) {
+            String sql = metric == ActivityRollup.Metric.REGISTRATIONS ? COUNT_REGISTRATIONS : COUNT_ENROLLMENTS;
+            jdbcTemplate.query(sql, rs -> {
+                rows.add(new Object[] { metric.name(), rs.getDate("day"), rs.getLong("total") });
+            }, lower, upper);
+        }
+
+        jdbcTemplate.update("DELETE FROM activity_rollups WHERE bucket_date >= ? AND bucket_date <= ?",
+                Date.valueOf(from), Date.valueOf(to));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROW, rows);
+        }
+        return rows.size();
+    }
+}
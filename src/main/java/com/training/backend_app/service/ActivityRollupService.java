@@ -0,0 +1,204 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.ActivityPointResponse;
+import com.training.backend_app.dto.ActivitySeriesResponse;
+import com.training.backend_app.entity.ActivityRollup;
+import com.training.backend_app.event.EnrollmentChangedEvent;
+import com.training.backend_app.event.UserChangedEvent;
+import com.training.backend_app.repository.ActivityRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Daily registration and enrollment counts in {@code activity_rollups}.
+ * Committed writes are counted in memory against the current day and added
+ * to the table by a scheduled flush, one batched upsert per flush. Past days
+ * are recounted from the source tables by {@link ActivityRollupBackfillJob}.
+ * Range queries read one row per day and bucket them by day, week or month.
+ */
+@Service
+public class ActivityRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityRollupService.class);
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    private static final String UPSERT = "INSERT INTO activity_rollups (metric, bucket_date, event_count) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE event_count = event_count + VALUES(event_count)";
+
+    private record Bucket(ActivityRollup.Metric metric, LocalDate day) {
+    }
+
+    private final ActivityRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxRangeDays;
+
+    private final Map<Bucket, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public ActivityRollupService(ActivityRollupRepository rollupRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${rollups.max-range-days:3660}") int maxRangeDays) {
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == UserChangedEvent.Type.CREATED) {
+            record(ActivityRollup.Metric.REGISTRATIONS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        // A new enrollment has no previous status; status changes and deletes are not requests
+        if (event.previousStatus() == null && event.status() != null) {
+            record(ActivityRollup.Metric.ENROLLMENTS);
+        }
+    }
+
+    private void record(ActivityRollup.Metric metric) {
+        pending.computeIfAbsent(new Bucket(metric, LocalDate.now()), bucket -> new LongAdder()).increment();
+    }
+
+    /**
+     * Adds the increments counted since the last flush to the table. Failed
+     * increments are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${rollups.flush-ms:5000}")
+    public synchronized void flush() {
+        LocalDate today = LocalDate.now();
+        Map<Bucket, Long> batch = new LinkedHashMap<>();
+        pending.forEach((bucket, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                batch.put(bucket, count);
+            } else if (bucket.day().isBefore(today)) {
+                pending.remove(bucket, adder);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((bucket, count) -> rows.add(new Object[] {
+                bucket.metric().name(), Date.valueOf(bucket.day()), count }));
+        try {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        } catch (RuntimeException e) {
+            batch.forEach((bucket, count) ->
+                    pending.computeIfAbsent(bucket, b -> new LongAdder()).add(count));
+            logger.warn("Flushing {} activity rollup increments failed: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a recount of the days between {@code from} and {@code to} with
+     * flushes held off, then drops the increments still buffered for those
+     * days. They were recorded on those days, after their rows committed, so
+     * the recount has already counted them; flushing them later would count
+     * them twice. If the recount fails they are kept.
+     */
+    public synchronized <T> T replaceDays(LocalDate from, LocalDate to, Supplier<T> recount) {
+        T result = recount.get();
+        pending.keySet().removeIf(bucket -> !bucket.day().isBefore(from) && !bucket.day().isAfter(to));
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    /**
+     * Counts of a metric between two days, both inclusive, in buckets of the
+     * given granularity. Increments not flushed yet are included.
+     */
+    public ActivitySeriesResponse getSeries(String metricName, String fromDate, String toDate, String granularityName) {
+        ActivityRollup.Metric metric = ActivityRollup.Metric.valueOf(metricName.toUpperCase());
+        Granularity granularity = granularityName != null
+                ? Granularity.valueOf(granularityName.toUpperCase())
+                : Granularity.DAY;
+        LocalDate to = toDate != null ? LocalDate.parse(toDate) : LocalDate.now();
+        LocalDate from = fromDate != null ? LocalDate.parse(fromDate) : to.minusDays(29);
+        if (from.isAfter(to)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new RuntimeException("Range must not exceed " + maxRangeDays + " days");
+        }
+
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        for (LocalDate start = bucketStart(from, granularity); !start.isAfter(to);
+                start = nextBucket(start, granularity)) {
+            counts.put(start, 0L);
+        }
+        for (ActivityRollup row : rollupRepository.findByMetricAndBucketDateBetweenOrderByBucketDate(metric, from, to)) {
+            counts.merge(bucketStart(row.getBucketDate(), granularity), row.getEventCount(), Long::sum);
+        }
+        pending.forEach((bucket, adder) -> {
+            if (bucket.metric() == metric && !bucket.day().isBefore(from) && !bucket.day().isAfter(to)) {
+                counts.merge(bucketStart(bucket.day(), granularity), adder.sum(), Long::sum);
+            }
+        });
+
+        List<ActivityPointResponse> points = new ArrayList<>(counts.size());
+        long total = 0;
+        for (Map.Entry<LocalDate, Long> entry : counts.entrySet()) {
+            points.add(ActivityPointResponse.builder()
+                    .bucketStart(entry.getKey())
+                    .count(entry.getValue())
+                    .build());
+            total += entry.getValue();
+        }
+
+        return ActivitySeriesResponse.builder()
+                .metric(metric.name())
+                .granularity(granularity.name())
+                .from(from)
+                .to(to)
+                .total(total)
+                .points(points)
+                .build();
+    }
+
+    private static LocalDate bucketStart(LocalDate day, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(DayOfWeek.MONDAY);
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextBucket(LocalDate start, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
@@ -7,10 +7,13 @@ import com.training.backend_app.dto.PasswordResetResponse;
 import com.training.backend_app.dto.RegisterRequest;
 import com.training.backend_app.dto.UserResponse;
 import com.training.backend_app.entity.User;
+import com.training.backend_app.event.UserChangedEvent;
 import com.training.backend_app.repository.UserRepository;
 import com.training.backend_app.security.CustomUserDetails;
 import com.training.backend_app.security.JwtUtil;
+import com.training.backend_app.security.TokenVersionRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -25,6 +28,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -39,6 +44,8 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getRole(), null,
+                UserChangedEvent.Type.CREATED));
 
         CustomUserDetails userDetails = new CustomUserDetails(user);
         String token = jwtUtil.generateToken(userDetails);
@@ -94,6 +101,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        tokenVersionRegistry.revoke(user.getId());
 
         return PasswordResetResponse.builder()
                 .message("Password reset successfully")
@@ -0,0 +1,126 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.entity.Course;
+import com.training.backend_app.entity.Enrollment;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.event.EnrollmentChangedEvent;
+import com.training.backend_app.ingest.ImportChunkResult;
+import com.training.backend_app.ingest.ImportRow;
+import com.training.backend_app.repository.EnrollmentRepository;
+import com.training.backend_app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based enrollment import. Each chunk of emails costs one user lookup, one
+ * existing-enrollment lookup and two JDBC batches (enrollments and the
+ * notification outbox), independent of the chunk size. Failures propagate and
+ * roll back the chunk's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkEnrollmentImporter {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_ENROLLMENT =
+            "INSERT INTO enrollments (student_id, course_id, enrolled_at, status) VALUES (?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Header detection for enrollment files: a first row of "email" or "student email".
+     */
+    public static boolean isHeader(String[] cells) {
+        String first = cells.length > 0 && cells[0] != null ? cells[0].trim() : "";
+        return first.equalsIgnoreCase("email") || first.equalsIgnoreCase("student email");
+    }
+
+    public ImportChunkResult importChunk(Course course, List<ImportRow> rows) {
+        List<String> errors = new ArrayList<>();
+
+        Set<String> emails = rows.stream()
+                .map(row -> normalize(row.cell(0)))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toSet());
+
+        Map<String, User> usersByEmail = emails.isEmpty()
+                ? Map.of()
+                : userRepository.findByEmailIn(emails).stream()
+                        .collect(Collectors.toMap(user -> normalize(user.getEmail()), Function.identity(),
+                                (first, second) -> first));
+
+        Set<Long> studentIds = usersByEmail.values().stream()
+                .filter(user -> user.getRole() == User.Role.STUDENT)
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        Set<Long> enrolled = studentIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(enrollmentRepository.findStudentIdsByCourseIdAndStudentIdIn(course.getId(), studentIds));
+
+        List<Long> accepted = new ArrayList<>();
+        for (ImportRow row : rows) {
+            String email = normalize(row.cell(0));
+            if (email.isEmpty()) {
+                errors.add(rejection(row, "email is empty"));
+                continue;
+            }
+            User user = usersByEmail.get(email);
+            if (user == null) {
+                errors.add(rejection(row, "no user with this email"));
+            } else if (user.getRole() != User.Role.STUDENT) {
+                errors.add(rejection(row, "user is not a student"));
+            } else if (!enrolled.add(user.getId())) {
+                // Also catches the same student appearing twice in the file
+                errors.add(rejection(row, "student is already enrolled in this course"));
+            } else {
+                accepted.add(user.getId());
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, accepted, CHUNK_SIZE, (ps, studentId) -> {
+                ps.setLong(1, studentId);
+                ps.setLong(2, course.getId());
+                ps.setTimestamp(3, now);
+                ps.setString(4, Enrollment.EnrollmentStatus.APPROVED.name());
+            });
+
+            notificationService.createNotifications(accepted, "You have been enrolled in course: " + course.getName());
+
+            for (Long studentId : accepted) {
+                eventPublisher.publishEvent(new EnrollmentChangedEvent(null, studentId, course.getId(), null,
+                        Enrollment.EnrollmentStatus.APPROVED));
+            }
+        }
+
+        return new ImportChunkResult(accepted.size(), errors);
+    }
+
+    private String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String rejection(ImportRow row, String reason) {
+        return "Row " + row.rowNumber() + " (" + row.cell(0) + "): " + reason;
+    }
+}
@@ -0,0 +1,42 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.entity.User;
+import com.training.backend_app.event.CatalogChangedEvent;
+import com.training.backend_app.event.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the course catalog, bumped after commit
+ * of every course or module write. Used as a strong ETag for the catalog
+ * endpoints so unchanged polls are answered without touching the database.
+ */
+@Component
+public class CatalogVersion {
+
+    // Seeded from the clock so a restarted instance never reissues an ETag for different content
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    public String etag() {
+        return "\"catalog-" + version.get() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Primary trainer names are part of the course representation
+        if (event.role() == User.Role.TRAINER || event.previousRole() == User.Role.TRAINER) {
+            version.incrementAndGet();
+        }
+    }
+}
@@ -14,23 +14,34 @@ import com.training.backend_app.repository.ModuleRepository;
 import com.training.backend_app.repository.SlotRepository;
 import com.training.backend_app.repository.UserRepository;
 import com.training.backend_app.entity.User;
+import com.training.backend_app.event.CatalogChangedEvent;
+import com.training.backend_app.event.EnrollmentChangedEvent;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CourseService {
 
+        private static final int MAX_PAGE_SIZE = 200;
+
         private final CourseRepository courseRepository;
         private final ModuleRepository moduleRepository;
         private final EnrollmentRepository enrollmentRepository;
         private final SlotRepository slotRepository;
+        private final TrainerOccupancyIndex occupancyIndex;
         private final UserRepository userRepository;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Transactional
         public CourseResponse createCourse(CourseRequest request) {
@@ -50,14 +61,40 @@ public class CourseService {
                                 .build();
 
                 courseRepository.save(course);
+                eventPublisher.publishEvent(new CatalogChangedEvent(course.getId(),
+                                CatalogChangedEvent.Type.COURSE_CREATED));
 
                 return mapToResponse(course);
         }
 
+        // Catalog reads: courses with their trainer in one query, all modules in one more,
+        // grouped by course id in memory
         public List<CourseResponse> getAllCourses() {
-                return courseRepository.findAll().stream()
-                                .map(this::mapToResponse)
+                Map<Long, List<ModuleResponse>> modulesByCourse = groupByCourse(moduleRepository.findAll());
+                return courseRepository.findAllWithPrimaryTrainer().stream()
+                                .map(course -> mapToResponse(course,
+                                                modulesByCourse.getOrDefault(course.getId(), List.of())))
+                                .collect(Collectors.toList());
+        }
+
+        public Page<CourseResponse> getCoursePage(int page, int size) {
+                Page<Course> courses = courseRepository.findAllWithPrimaryTrainer(
+                                PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), Sort.by("id")));
+                List<Long> courseIds = courses.stream()
+                                .map(Course::getId)
                                 .collect(Collectors.toList());
+                Map<Long, List<ModuleResponse>> modulesByCourse = courseIds.isEmpty()
+                                ? Map.of()
+                                : groupByCourse(moduleRepository.findByCourseIdIn(courseIds));
+                return courses.map(course -> mapToResponse(course,
+                                modulesByCourse.getOrDefault(course.getId(), List.of())));
+        }
+
+        private Map<Long, List<ModuleResponse>> groupByCourse(List<Module> modules) {
+                // module.getCourse().getId() is answered by the proxy without loading the course
+                return modules.stream()
+                                .map(module -> mapToModuleResponse(module, module.getCourse().getId()))
+                                .collect(Collectors.groupingBy(ModuleResponse::getCourseId));
         }
 
         public CourseResponse getCourseById(Long id) {
@@ -80,6 +117,8 @@ public class CourseService {
                                 .build();
 
                 moduleRepository.save(module);
+                eventPublisher.publishEvent(new CatalogChangedEvent(course.getId(),
+                                CatalogChangedEvent.Type.MODULE_CREATED));
 
                 return ModuleResponse.builder()
                                 .id(module.getId())
@@ -106,16 +145,24 @@ public class CourseService {
 
         private CourseResponse mapToResponse(Course course) {
                 List<ModuleResponse> modules = moduleRepository.findByCourseId(course.getId()).stream()
-                                .map(module -> ModuleResponse.builder()
-                                                .id(module.getId())
-                                                .name(module.getName())
-                                                .description(module.getDescription())
-                                                .duration(module.getDuration())
-                                                .orderNumber(module.getOrderNumber())
-                                                .courseId(course.getId())
-                                                .build())
+                                .map(module -> mapToModuleResponse(module, course.getId()))
                                 .collect(Collectors.toList());
 
+                return mapToResponse(course, modules);
+        }
+
+        private ModuleResponse mapToModuleResponse(Module module, Long courseId) {
+                return ModuleResponse.builder()
+                                .id(module.getId())
+                                .name(module.getName())
+                                .description(module.getDescription())
+                                .duration(module.getDuration())
+                                .orderNumber(module.getOrderNumber())
+                                .courseId(courseId)
+                                .build();
+        }
+
+        private CourseResponse mapToResponse(Course course, List<ModuleResponse> modules) {
                 return CourseResponse.builder()
                                 .id(course.getId())
                                 .name(course.getName())
@@ -155,6 +202,8 @@ public class CourseService {
                 }
 
                 courseRepository.save(course);
+                eventPublisher.publishEvent(new CatalogChangedEvent(course.getId(),
+                                CatalogChangedEvent.Type.COURSE_UPDATED));
 
                 return mapToResponse(course);
         }
@@ -167,10 +216,18 @@ public class CourseService {
                 // Delete all enrollments for this course
                 List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
                 enrollmentRepository.deleteAll(enrollments);
+                for (Enrollment enrollment : enrollments) {
+                        eventPublisher.publishEvent(new EnrollmentChangedEvent(enrollment.getId(),
+                                        enrollment.getStudent().getId(), courseId, enrollment.getStatus(), null));
+                }
 
                 // Dissociate slots (set course and module to null)
                 List<Slot> slots = slotRepository.findByCourseId(courseId);
                 for (Slot slot : slots) {
+                        if (slot.getTrainer() != null && slot.getSlotNumber() != null) {
+                                occupancyIndex.release(slot.getWeek().getId(), slot.getTrainer().getId(),
+                                                slot.getDayOfWeek(), slot.getSlotNumber());
+                        }
                         slot.setCourse(null);
                         slot.setModule(null);
                         slot.setTrainer(null);
@@ -194,6 +251,7 @@ public class CourseService {
                 moduleRepository.deleteAll(modules);
 
                 courseRepository.delete(course);
+                eventPublisher.publishEvent(new CatalogChangedEvent(courseId, CatalogChangedEvent.Type.COURSE_DELETED));
         }
 
         public List<com.training.backend_app.dto.UserResponse> getTrainersByCourseId(Long courseId) {
@@ -224,6 +282,8 @@ public class CourseService {
                 }
 
                 moduleRepository.delete(module);
+                eventPublisher.publishEvent(new CatalogChangedEvent(module.getCourse().getId(),
+                                CatalogChangedEvent.Type.MODULE_DELETED));
         }
 
         @Transactional
@@ -238,6 +298,8 @@ public class CourseService {
                 // now unless requested
 
                 moduleRepository.save(module);
+                eventPublisher.publishEvent(new CatalogChangedEvent(module.getCourse().getId(),
+                                CatalogChangedEvent.Type.MODULE_UPDATED));
 
                 return ModuleResponse.builder()
                                 .id(module.getId())
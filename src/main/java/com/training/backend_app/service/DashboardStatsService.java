@@ -0,0 +1,177 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.entity.Enrollment;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.event.CatalogChangedEvent;
+import com.training.backend_app.event.EnrollmentChangedEvent;
+import com.training.backend_app.event.UserChangedEvent;
+import com.training.backend_app.event.WeekCreatedEvent;
+import com.training.backend_app.repository.CourseRepository;
+import com.training.backend_app.repository.EnrollmentRepository;
+import com.training.backend_app.repository.RoleCountView;
+import com.training.backend_app.repository.StatusCountView;
+import com.training.backend_app.repository.UserRepository;
+import com.training.backend_app.repository.WeekRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Live dashboard counters: users by role, courses, enrollments by status and
+ * weeks. Seeded with grouped COUNT queries once the application is ready (so
+ * the default admin created at startup is included) and moved by the domain
+ * events after each commit. A periodic reconcile re-runs the COUNT queries to
+ * absorb writes that bypass the services; a reconcile that raced with an event
+ * is discarded and retried.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final WeekRepository weekRepository;
+
+    // Guarded by this
+    private final Map<User.Role, Long> usersByRole = new EnumMap<>(User.Role.class);
+    private final Map<Enrollment.EnrollmentStatus, Long> enrollmentsByStatus =
+            new EnumMap<>(Enrollment.EnrollmentStatus.class);
+    private long courses;
+    private long weeks;
+    private long generation;
+    private boolean seeded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.dashboard.reconcile-ms:600000}",
+            initialDelayString = "${stats.dashboard.reconcile-ms:600000}")
+    public void reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long startedAt;
+            synchronized (this) {
+                startedAt = generation;
+            }
+
+            Map<User.Role, Long> roles = new EnumMap<>(User.Role.class);
+            for (RoleCountView row : userRepository.countByRole()) {
+                if (row.getRole() != null) {
+                    roles.put(row.getRole(), row.getCount());
+                }
+            }
+            Map<Enrollment.EnrollmentStatus, Long> statuses = new EnumMap<>(Enrollment.EnrollmentStatus.class);
+            for (StatusCountView row : enrollmentRepository.countByStatus()) {
+                statuses.merge(statusOf(row.getStatus()), row.getCount(), Long::sum);
+            }
+            long courseCount = courseRepository.count();
+            long weekCount = weekRepository.count();
+
+            synchronized (this) {
+                // Always store the first seed, even if writes are already arriving
+                if (generation == startedAt || !seeded) {
+                    usersByRole.clear();
+                    usersByRole.putAll(roles);
+                    enrollmentsByStatus.clear();
+                    enrollmentsByStatus.putAll(statuses);
+                    courses = courseCount;
+                    weeks = weekCount;
+                    seeded = true;
+                    return;
+                }
+            }
+        }
+        logger.info("Dashboard counters not reconciled, writes kept racing the COUNT queries");
+    }
+
+    /**
+     * Dashboard figures from the counters; no queries are run.
+     */
+    public synchronized Map<String, Object> getDashboard() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("students", usersByRole.getOrDefault(User.Role.STUDENT, 0L));
+        stats.put("trainers", usersByRole.getOrDefault(User.Role.TRAINER, 0L));
+        stats.put("admins", usersByRole.getOrDefault(User.Role.ADMIN, 0L));
+        stats.put("courses", courses);
+        stats.put("enrollments", enrollmentsByStatus.values().stream().mapToLong(Long::longValue).sum());
+        stats.put("schedules", weeks);
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Enrollment.EnrollmentStatus status : Enrollment.EnrollmentStatus.values()) {
+            byStatus.put(status.name(), enrollmentsByStatus.getOrDefault(status, 0L));
+        }
+        stats.put("enrollmentsByStatus", byStatus);
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        generation++;
+        switch (event.type()) {
+            case CREATED -> adjust(usersByRole, event.role(), 1);
+            case DELETED -> adjust(usersByRole, event.role(), -1);
+            case UPDATED -> {
+                if (event.previousRole() != null && event.previousRole() != event.role()) {
+                    adjust(usersByRole, event.previousRole(), -1);
+                    adjust(usersByRole, event.role(), 1);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        generation++;
+        // previousStatus is null for a new enrollment, status is null for a deleted one
+        if (event.previousStatus() != null) {
+            adjust(enrollmentsByStatus, event.previousStatus(), -1);
+        }
+        if (event.status() != null) {
+            adjust(enrollmentsByStatus, event.status(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.type() == CatalogChangedEvent.Type.COURSE_CREATED) {
+            generation++;
+            courses++;
+        } else if (event.type() == CatalogChangedEvent.Type.COURSE_DELETED) {
+            generation++;
+            courses = Math.max(0, courses - 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onWeekCreated(WeekCreatedEvent event) {
+        generation++;
+        weeks++;
+    }
+
+    private static <K> void adjust(Map<K, Long> counters, K key, long delta) {
+        if (key != null) {
+            counters.merge(key, delta, (current, d) -> Math.max(0, current + d));
+        }
+    }
+
+    // Rows written before statuses existed are shown as approved, as in EnrollmentService
+    private static Enrollment.EnrollmentStatus statusOf(Enrollment.EnrollmentStatus status) {
+        return status != null ? status : Enrollment.EnrollmentStatus.APPROVED;
+    }
+}
@@ -0,0 +1,357 @@
+package com.training.backend_app.service;
+
+import com.opencsv.CSVWriter;
+import com.training.backend_app.entity.Enrollment;
+import com.training.backend_app.entity.User;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams users, enrollments and timetable slots as CSV or XLSX straight from
+ * a JDBC result set. Rows are read one at a time (MySQL streaming result set)
+ * and written as they arrive, so heap use does not depend on the row count.
+ * CSV bytes start flowing with the header; XLSX rows are kept in a small
+ * window and spilled to a temporary file by POI, and the workbook is written
+ * once the last row is read.
+ *
+ * A streaming result set holds its connection until it has been read to the
+ * end, so the number of concurrent exports is capped.
+ */
+@Service
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    public enum Format {
+        CSV,
+        XLSX
+    }
+
+    // Asks MySQL Connector/J to stream rows instead of reading the whole result into memory
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final int CSV_FLUSH_ROWS = 1000;
+    private static final int XLSX_WINDOW_ROWS = 100;
+    private static final int XLSX_MAX_ROWS_PER_SHEET = 1_048_575;
+
+    private static final String USERS = "SELECT u.id, u.name, u.email, u.role, u.phone, u.specialization, "
+            + "u.experience, u.qualification, u.created_at FROM users u";
+
+    private static final String ENROLLMENTS = "SELECT e.id, e.student_id, s.name AS student_name, "
+            + "s.email AS student_email, e.course_id, c.name AS course_name, e.status, e.enrolled_at "
+            + "FROM enrollments e JOIN users s ON s.id = e.student_id JOIN courses c ON c.id = e.course_id";
+
+    private static final String TIMETABLE = "SELECT sl.id, w.week_number, w.name AS week_name, sl.day_of_week, "
+            + "sl.slot_number, sl.start_time, sl.end_time, c.name AS course_name, m.name AS module_name, "
+            + "t.name AS trainer_name, t.email AS trainer_email FROM slots sl JOIN weeks w ON w.id = sl.week_id "
+            + "LEFT JOIN courses c ON c.id = sl.course_id LEFT JOIN modules m ON m.id = sl.module_id "
+            + "LEFT JOIN users t ON t.id = sl.trainer_id";
+
+    private static final String TIMETABLE_ORDER = " ORDER BY w.week_number, FIELD(sl.day_of_week, 'MONDAY', "
+            + "'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'), sl.slot_number, sl.id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Semaphore permits;
+    private final long permitWaitMillis;
+
+    public DataExportService(JdbcTemplate jdbcTemplate,
+                             @Value("${exports.max-concurrent:2}") int maxConcurrent,
+                             @Value("${exports.permit-wait-ms:5000}") long permitWaitMillis) {
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(STREAMING_FETCH_SIZE);
+        this.permits = new Semaphore(maxConcurrent);
+        this.permitWaitMillis = permitWaitMillis;
+    }
+
+    public StreamingResponseBody exportUsers(Format format, User.Role role) {
+        StringBuilder sql = new StringBuilder(USERS);
+        List<Object> args = new ArrayList<>();
+        if (role != null) {
+            sql.append(" WHERE u.role = ?");
+            args.add(role.name());
+        }
+        sql.append(" ORDER BY u.id");
+        return export("users", format, sql.toString(), args);
+    }
+
+    public StreamingResponseBody exportEnrollments(Format format, Long courseId, Enrollment.EnrollmentStatus status) {
+        StringBuilder sql = new StringBuilder(ENROLLMENTS);
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (courseId != null) {
+            conditions.add("e.course_id = ?");
+            args.add(courseId);
+        }
+        if (status != null) {
+            conditions.add("e.status = ?");
+            args.add(status.name());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY e.id");
+        return export("enrollments", format, sql.toString(), args);
+    }
+
+    public StreamingResponseBody exportTimetable(Format format, Long weekId, Long trainerId, Long courseId) {
+        StringBuilder sql = new StringBuilder(TIMETABLE);
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (weekId != null) {
+            conditions.add("sl.week_id = ?");
+            args.add(weekId);
+        }
+        if (trainerId != null) {
+            conditions.add("sl.trainer_id = ?");
+            args.add(trainerId);
+        }
+        if (courseId != null) {
+            conditions.add("sl.course_id = ?");
+            args.add(courseId);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(TIMETABLE_ORDER);
+        return export("timetable", format, sql.toString(), args);
+    }
+
+    private StreamingResponseBody export(String name, Format format, String sql, List<Object> args) {
+        // Checked on the request thread so the usual rejection is a normal error response
+        if (permits.availablePermits() == 0) {
+            throw tooManyExports();
+        }
+        // The permit itself is only taken once the body runs, so a body that never
+        // runs (async timeout, dispatch failure) cannot hold one
+        return out -> {
+            try {
+                if (!permits.tryAcquire(permitWaitMillis, TimeUnit.MILLISECONDS)) {
+                    throw tooManyExports();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw tooManyExports();
+            }
+            long startedAt = System.currentTimeMillis();
+            try (RowSink sink = format == Format.XLSX ? new XlsxSink(name, out) : new CsvSink(out)) {
+                long rows = streamRows(sql, args, sink);
+                sink.finish();
+                logger.info("Exported {} {} rows as {} in {} ms", rows, name, format,
+                        System.currentTimeMillis() - startedAt);
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the result set is closed by JdbcTemplate
+                throw e.getCause();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private static RuntimeException tooManyExports() {
+        return new RuntimeException("Too many exports are running, please try again shortly");
+    }
+
+    private long streamRows(String sql, List<Object> args, RowSink sink) {
+        long[] rows = { 0 };
+        streamingJdbcTemplate.query(sql, (ResultSet rs) -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            String[] header = new String[columns];
+            for (int i = 0; i < columns; i++) {
+                header[i] = meta.getColumnLabel(i + 1);
+            }
+            sink.header(header);
+
+            Object[] values = new Object[columns];
+            while (rs.next()) {
+                for (int i = 0; i < columns; i++) {
+                    values[i] = valueOf(rs, i + 1);
+                }
+                sink.row(values);
+                rows[0]++;
+            }
+            return null;
+        }, args.toArray());
+        return rows[0];
+    }
+
+    private static Object valueOf(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value;
+    }
+
+    /**
+     * Destination of the exported rows. Write failures surface as
+     * {@link UncheckedIOException} so they can leave the JDBC callback.
+     */
+    private interface RowSink extends AutoCloseable {
+
+        void header(String[] columns);
+
+        void row(Object[] values);
+
+        // Called after the last row; not called if the export failed
+        void finish() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class CsvSink implements RowSink {
+
+        private final CSVWriter writer;
+        private String[] line;
+        private int unflushed;
+
+        CsvSink(OutputStream out) {
+            this.writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public void header(String[] columns) {
+            line = new String[columns.length];
+            writer.writeNext(columns);
+            flush();
+        }
+
+        @Override
+        public void row(Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                line[i] = values[i] == null ? ""
+                        : values[i] instanceof String text ? neutralizeFormula(text) : values[i].toString();
+            }
+            writer.writeNext(line);
+            if (++unflushed >= CSV_FLUSH_ROWS) {
+                flush();
+            }
+        }
+
+        /**
+         * Prefixes text that a spreadsheet would read as a formula with a quote,
+         * so user-supplied names or emails cannot run as formulas when the file
+         * is opened. Numbers and dates are written unchanged.
+         */
+        private static String neutralizeFormula(String text) {
+            if (!text.isEmpty()) {
+                char first = text.charAt(0);
+                if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+                    return "'" + text;
+                }
+            }
+            return text;
+        }
+
+        private void flush() {
+            try {
+                writer.flush();
+                unflushed = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (writer.checkError()) {
+                throw new UncheckedIOException(new IOException("Client closed the connection"));
+            }
+        }
+
+        @Override
+        public void finish() {
+            flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class XlsxSink implements RowSink {
+
+        private final String sheetName;
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_WINDOW_ROWS);
+        private String[] header;
+        private Sheet sheet;
+        private int sheets;
+        private int nextRow;
+
+        XlsxSink(String sheetName, OutputStream out) {
+            this.sheetName = sheetName;
+            this.out = out;
+            workbook.setCompressTempFiles(true);
+        }
+
+        @Override
+        public void header(String[] columns) {
+            header = columns;
+            newSheet();
+        }
+
+        @Override
+        public void row(Object[] values) {
+            // A sheet holds at most 1,048,576 rows, header included
+            if (nextRow > XLSX_MAX_ROWS_PER_SHEET) {
+                newSheet();
+            }
+            Row row = sheet.createRow(nextRow++);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        }
+
+        private void newSheet() {
+            sheets++;
+            sheet = workbook.createSheet(sheets == 1 ? sheetName : sheetName + " " + sheets);
+            Row row = sheet.createRow(0);
+            for (int i = 0; i < header.length; i++) {
+                row.createCell(i).setCellValue(header[i]);
+            }
+            nextRow = 1;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.training.backend_app.service;
+
+import com.opencsv.CSVWriter;
+import com.training.backend_app.dto.ImportJobResponse;
+import com.training.backend_app.entity.Course;
+import com.training.backend_app.ingest.ChunkedRowCollector;
+import com.training.backend_app.ingest.StreamingTabularReader;
+import com.training.backend_app.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bulk imports in the background. An upload is spooled to a temp file and
+ * queued on a bounded executor, so the request thread and its connection are
+ * released immediately. Rows are streamed from the file and committed one chunk
+ * per transaction; progress and the per-row error report are kept in memory for
+ * the most recent jobs.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    private static final int MAX_RETAINED_JOBS = 200;
+    private static final int MAX_ERRORS_PER_JOB = 1000;
+
+    public enum Type {
+        USERS,
+        ENROLLMENTS
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private static final class ImportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final Type type;
+        private final String filename;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile Status status = Status.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+        private volatile ChunkedRowCollector collector;
+
+        private ImportJob(Type type, String filename) {
+            this.type = type;
+            this.filename = filename;
+        }
+    }
+
+    @FunctionalInterface
+    private interface JobBody {
+        void run(ImportJob job, Path file) throws Exception;
+    }
+
+    private final StudentImporter studentImporter;
+    private final BulkEnrollmentImporter bulkEnrollmentImporter;
+    private final StreamingTabularReader tabularReader;
+    private final CourseRepository courseRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> jobOrder = new ConcurrentLinkedQueue<>();
+    private final ThreadPoolExecutor executor;
+
+    public ImportJobService(StudentImporter studentImporter,
+                            BulkEnrollmentImporter bulkEnrollmentImporter,
+                            StreamingTabularReader tabularReader,
+                            CourseRepository courseRepository,
+                            NotificationService notificationService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${imports.workers:2}") int workers,
+                            @Value("${imports.queue-capacity:20}") int queueCapacity) {
+        this.studentImporter = studentImporter;
+        this.bulkEnrollmentImporter = bulkEnrollmentImporter;
+        this.tabularReader = tabularReader;
+        this.courseRepository = courseRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = transactionTemplate;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJobResponse submitStudentImport(MultipartFile file) {
+        return submit(Type.USERS, file, (job, path) -> {
+            ChunkedRowCollector collector = new ChunkedRowCollector(StudentImporter.CHUNK_SIZE,
+                    MAX_ERRORS_PER_JOB, StudentImporter::isHeader,
+                    rows -> transactionTemplate.execute(status -> studentImporter.importChunk(rows)));
+            job.collector = collector;
+            tabularReader.read(job.filename, path, collector);
+            collector.flush();
+
+            if (collector.getAcceptedRows() > 0) {
+                notificationService.notifyAdmins(
+                        "Bulk upload completed: " + collector.getAcceptedRows() + " students added.");
+            }
+        });
+    }
+
+    public ImportJobResponse submitEnrollmentImport(Long courseId, MultipartFile file) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        String filename = file.getOriginalFilename();
+        if (filename == null || (!filename.endsWith(".csv") && !StreamingTabularReader.isSpreadsheet(filename))) {
+            throw new RuntimeException("Unsupported file format. Please upload CSV or Excel.");
+        }
+
+        return submit(Type.ENROLLMENTS, file, (job, path) -> {
+            ChunkedRowCollector collector = new ChunkedRowCollector(BulkEnrollmentImporter.CHUNK_SIZE,
+                    MAX_ERRORS_PER_JOB, BulkEnrollmentImporter::isHeader,
+                    rows -> transactionTemplate.execute(status -> bulkEnrollmentImporter.importChunk(course, rows)));
+            job.collector = collector;
+            tabularReader.read(job.filename, path, collector);
+            collector.flush();
+        });
+    }
+
+    public ImportJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /**
+     * Per-row error report of a job as CSV, one rejected row per line.
+     */
+    public String getErrorReport(String jobId) {
+        ImportJob job = findJob(jobId);
+        StringWriter out = new StringWriter();
+        try (CSVWriter writer = new CSVWriter(out)) {
+            writer.writeNext(new String[] { "error" });
+            if (job.collector != null) {
+                for (String error : job.collector.getErrors()) {
+                    writer.writeNext(new String[] { error });
+                }
+                if (job.collector.getOmittedErrors() > 0) {
+                    writer.writeNext(new String[] { job.collector.getOmittedErrors() + " more errors not listed" });
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not build error report", e);
+        }
+        return out.toString();
+    }
+
+    private ImportJob findJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Import job not found");
+        }
+        return job;
+    }
+
+    private ImportJobResponse submit(Type type, MultipartFile file, JobBody body) {
+        Path path;
+        try {
+            // The multipart content is gone once the request completes, so keep our own copy
+            path = Files.createTempFile("import-job-", ".upload");
+            file.transferTo(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store uploaded file: " + e.getMessage());
+        }
+
+        ImportJob job = new ImportJob(type, file.getOriginalFilename());
+        // Registered before it can start, so a status poll never misses a running job
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, path, body));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(path);
+            throw new RuntimeException("Too many imports in progress, please retry later");
+        }
+
+        jobOrder.add(job.id);
+        evictFinishedJobs();
+        return toResponse(job);
+    }
+
+    private void run(ImportJob job, Path path, JobBody body) {
+        job.status = Status.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        try {
+            body.run(job, path);
+            job.status = Status.COMPLETED;
+            job.message = "Import completed.";
+        } catch (Exception e) {
+            logger.warn("Import job {} failed", job.id, e);
+            job.status = Status.FAILED;
+            job.message = "Error processing file: " + e.getMessage();
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            deleteQuietly(path);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        while (jobs.size() > MAX_RETAINED_JOBS) {
+            String oldest = jobOrder.peek();
+            ImportJob job = oldest != null ? jobs.get(oldest) : null;
+            if (job != null && job.finishedAt == null) {
+                return;
+            }
+            jobOrder.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete temp file {}", path, e);
+        }
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        ChunkedRowCollector collector = job.collector;
+        int processed = collector != null ? collector.getProcessedRows() : 0;
+
+        double rowsPerSecond = 0;
+        if (job.startedAt != null) {
+            LocalDateTime end = job.finishedAt != null ? job.finishedAt : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(job.startedAt, end).toMillis());
+            rowsPerSecond = processed * 1000.0 / millis;
+        }
+
+        return ImportJobResponse.builder()
+                .jobId(job.id)
+                .type(job.type.name())
+                .status(job.status.name())
+                .filename(job.filename)
+                .totalRows(collector != null ? collector.getTotalRows() : 0)
+                .processedRows(processed)
+                .acceptedRows(collector != null ? collector.getAcceptedRows() : 0)
+                .rejectedRows(collector != null ? collector.getRejectedRows() : 0)
+                .omittedErrors(collector != null ? collector.getOmittedErrors() : 0)
+                .rowsPerSecond(rowsPerSecond)
+                .hashingThreads(job.type == Type.USERS ? studentImporter.getHashingThreads() : null)
+                .availableCores(Runtime.getRuntime().availableProcessors())
+                .message(job.message)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+}
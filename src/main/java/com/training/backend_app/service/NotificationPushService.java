@@ -0,0 +1,228 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.NotificationResponse;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.event.BroadcastCreatedEvent;
+import com.training.backend_app.event.NotificationsDeliveredEvent;
+import com.training.backend_app.event.NotificationsReadEvent;
+import com.training.backend_app.event.UserChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Server-sent event streams per user. A stream receives a {@code notification}
+ * event for every new personal or broadcast notification and an
+ * {@code unread-count} event whenever the user's unread count changes.
+ * Delivered and read events also keep {@link UnreadNotificationCounter} current.
+ * <p>
+ * Writes to the streams happen on a few sender threads with bounded queues, so
+ * a slow client never holds up the notification writer, an admin request or
+ * the scheduler. A user always goes to the same sender, which keeps that
+ * user's events in order; a user whose sender queue is full is disconnected
+ * and refetches on reconnect.
+ */
+@Service
+public class NotificationPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushService.class);
+
+    private record Subscriber(User.Role role, SseEmitter emitter) {
+    }
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final long streamTimeoutMillis;
+    private final List<ThreadPoolExecutor> senders;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public NotificationPushService(UnreadNotificationCounter unreadCounter,
+                                   @Value("${notifications.stream.timeout-ms:1800000}") long streamTimeoutMillis,
+                                   @Value("${notifications.stream.send-threads:4}") int sendThreads,
+                                   @Value("${notifications.stream.send-queue-capacity:10000}") int queueCapacity) {
+        this.unreadCounter = unreadCounter;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.senders = new ArrayList<>(sendThreads);
+        for (int i = 1; i <= sendThreads; i++) {
+            String name = "notification-push-" + i;
+            senders.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    }));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    public SseEmitter subscribe(Long userId, User.Role role) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(role, emitter);
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+
+        Runnable remove = () -> unsubscribe(userId, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        dispatch(userId, () -> send(userId, subscriber,
+                SseEmitter.event().name("unread-count").data(unreadCounter.getUnread(userId))));
+        return emitter;
+    }
+
+    public int getUnreadCount(Long userId) {
+        return unreadCounter.getUnread(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeDeliveredCommits(NotificationsDeliveredEvent event) {
+        unreadCounter.beforeAddCommits();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeBroadcastCommits(BroadcastCreatedEvent event) {
+        unreadCounter.beforeAddCommits();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDelivered(NotificationsDeliveredEvent event) {
+        Map<Long, List<NotificationsDeliveredEvent.Delivery>> byUser = event.deliveries().stream()
+                .collect(Collectors.groupingBy(NotificationsDeliveredEvent.Delivery::userId));
+
+        byUser.forEach((userId, deliveries) -> {
+            unreadCounter.addPersonal(userId, deliveries.size());
+            if (subscribers.containsKey(userId)) {
+                dispatch(userId, () -> {
+                    for (NotificationsDeliveredEvent.Delivery delivery : deliveries) {
+                        // Rows are written in JDBC batches, so ids are not known here; clients refetch for them
+                        NotificationResponse response = NotificationResponse.builder()
+                                .message(delivery.message())
+                                .read(false)
+                                .createdAt(delivery.createdAt() != null ? delivery.createdAt().toString() : null)
+                                .build();
+                        pushToUser(userId, () -> SseEmitter.event().name("notification").data(response));
+                    }
+                    pushUnreadCount(userId);
+                });
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBroadcastCreated(BroadcastCreatedEvent event) {
+        unreadCounter.addBroadcast(event.role());
+
+        NotificationResponse response = NotificationResponse.builder()
+                .id(event.broadcastId())
+                .message(event.message())
+                .read(false)
+                .createdAt(event.createdAt() != null ? event.createdAt().toString() : null)
+                .broadcast(true)
+                .build();
+        subscribers.forEach((userId, userSubscribers) -> {
+            if (userSubscribers.stream().anyMatch(subscriber -> subscriber.role() == event.role())) {
+                dispatch(userId, () -> {
+                    pushToUser(userId, () -> SseEmitter.event().name("notification").data(response));
+                    pushUnreadCount(userId);
+                });
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRead(NotificationsReadEvent event) {
+        unreadCounter.invalidate(event.userId());
+        if (subscribers.containsKey(event.userId())) {
+            dispatch(event.userId(), () -> pushUnreadCount(event.userId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        boolean roleChanged = event.type() == UserChangedEvent.Type.UPDATED && event.role() != event.previousRole();
+        if (event.type() != UserChangedEvent.Type.DELETED && !roleChanged) {
+            return;
+        }
+        // A role change moves the user to another broadcast stream; the client reconnects
+        unreadCounter.invalidate(event.userId());
+        List<Subscriber> userSubscribers = subscribers.remove(event.userId());
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> subscriber.emitter().complete());
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and drops dead ones.
+     */
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.keySet().forEach(userId ->
+                dispatch(userId, () -> pushToUser(userId, () -> SseEmitter.event().comment("ping"))));
+    }
+
+    private void dispatch(Long userId, Runnable task) {
+        ThreadPoolExecutor sender = senders.get(Math.floorMod(userId.hashCode(), senders.size()));
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Too far behind to catch up; the client reconnects and refetches
+            logger.warn("Notification stream queue full, disconnecting user {}", userId);
+            List<Subscriber> userSubscribers = subscribers.remove(userId);
+            if (userSubscribers != null) {
+                userSubscribers.forEach(subscriber -> subscriber.emitter().complete());
+            }
+        }
+    }
+
+    private void pushUnreadCount(Long userId) {
+        int unread = unreadCounter.getUnread(userId);
+        pushToUser(userId, () -> SseEmitter.event().name("unread-count").data(unread));
+    }
+
+    // Event builders are single-use, so every emitter gets a fresh one
+    private void pushToUser(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers != null) {
+            userSubscribers.forEach(subscriber -> send(userId, subscriber, event.get()));
+        }
+    }
+
+    private void send(Long userId, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(userId, subscriber);
+        }
+    }
+
+    private void unsubscribe(Long userId, Subscriber subscriber) {
+        subscribers.computeIfPresent(userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package com.training.backend_app.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@code notifications} small by moving read notifications older than
+ * {@code notifications.retention.max-age-days} to {@code notifications_archive}
+ * (mode ARCHIVE) or deleting them (mode DELETE). Works in small batches, each
+ * in its own transaction, with a pause between batches so the job never holds
+ * long locks or saturates the database. Unread notifications are never touched.
+ * <p>
+ * Passes run on a thread of their own, so neither the shared scheduler thread
+ * nor the admin request that starts a pass waits for it to finish.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    public enum Mode {
+        ARCHIVE,
+        DELETE
+    }
+
+    private static final String SELECT_EXPIRED =
+            "SELECT id FROM notifications WHERE is_read = true AND created_at < ? ORDER BY created_at, id LIMIT ?";
+
+    private static final String ARCHIVE_ROWS = "INSERT INTO notifications_archive (id, user_id, message, created_at, "
+            + "archived_at) SELECT id, user_id, message, created_at, :archivedAt FROM notifications WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Mode mode;
+    private final int maxAgeDays;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxBatchesPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Map<String, Object> lastRun;
+
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${notifications.retention.enabled:true}") boolean enabled,
+                                    @Value("${notifications.retention.mode:ARCHIVE}") Mode mode,
+                                    @Value("${notifications.retention.max-age-days:90}") int maxAgeDays,
+                                    @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${notifications.retention.pause-ms:200}") long pauseMillis,
+                                    @Value("${notifications.retention.max-batches-per-run:500}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.mode = mode;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * Starts one retention pass in the background unless one is already in
+     * progress. Returns STARTED or ALREADY_RUNNING; the outcome of the pass is
+     * available from {@link #getStatus()}.
+     */
+    public Map<String, Object> start() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", mode.name());
+        if (!running.compareAndSet(false, true)) {
+            result.put("status", "ALREADY_RUNNING");
+            return result;
+        }
+        try {
+            executor.execute(this::run);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        result.put("status", "STARTED");
+        return result;
+    }
+
+    /**
+     * Whether a pass is running, plus the result of the last finished pass.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    private void run() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", mode.name());
+        result.put("startedAt", LocalDateTime.now().toString());
+        long startedAt = System.currentTimeMillis();
+        int moved = 0;
+        int batches = 0;
+        try {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(maxAgeDays));
+            while (batches < maxBatchesPerRun) {
+                Integer count = transactionTemplate.execute(status -> processBatch(cutoff));
+                batches++;
+                moved += count != null ? count : 0;
+                if (count == null || count < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+            result.put("status", "COMPLETED");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.put("status", "INTERRUPTED");
+        } catch (RuntimeException e) {
+            logger.error("Notification retention ({}) failed", mode, e);
+            result.put("status", "FAILED");
+            result.put("error", e.getMessage());
+        } finally {
+            // Also reached on an Error, so a later run is never locked out
+            result.putIfAbsent("status", "FAILED");
+            long elapsed = System.currentTimeMillis() - startedAt;
+            logger.info("Notification retention ({}) processed {} rows in {} batches, {} ms", mode, moved, batches,
+                    elapsed);
+            result.put("rows", moved);
+            result.put("batches", batches);
+            result.put("elapsedMillis", elapsed);
+            lastRun = result;
+            running.set(false);
+        }
+    }
+
+    private int processBatch(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED, Long.class, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+        if (mode == Mode.ARCHIVE) {
+            namedJdbcTemplate.update(ARCHIVE_ROWS, params);
+        }
+        namedJdbcTemplate.update("DELETE FROM notifications WHERE id IN (:ids)", params);
+        return ids.size();
+    }
+}
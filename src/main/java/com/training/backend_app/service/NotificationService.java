@@ -1,77 +1,379 @@
 package com.training.backend_app.service;
 
+import com.training.backend_app.dto.NotificationPageResponse;
 import com.training.backend_app.dto.NotificationResponse;
+import com.training.backend_app.entity.ArchivedNotification;
+import com.training.backend_app.entity.BroadcastNotification;
+import com.training.backend_app.entity.BroadcastReadMarker;
 import com.training.backend_app.entity.Notification;
+import com.training.backend_app.entity.NotificationOutbox;
+import com.training.backend_app.event.BroadcastCreatedEvent;
+import com.training.backend_app.event.NotificationQueuedEvent;
+import com.training.backend_app.event.NotificationsReadEvent;
 import com.training.backend_app.entity.User;
+import com.training.backend_app.repository.ArchivedNotificationRepository;
+import com.training.backend_app.repository.BroadcastNotificationRepository;
+import com.training.backend_app.repository.BroadcastReadMarkerRepository;
+import com.training.backend_app.repository.NotificationOutboxRepository;
 import com.training.backend_app.repository.NotificationRepository;
 import com.training.backend_app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    // Lower bound for users without a creation time
+    private static final LocalDateTime BROADCASTS_SINCE_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final BroadcastReadMarkerRepository readMarkerRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String INSERT_OUTBOX =
+            "INSERT INTO notification_outbox (user_id, message, created_at) VALUES (?, ?, ?)";
+
+    private record TimedResponse(LocalDateTime createdAt, NotificationResponse response) {
+    }
+
+    /**
+     * Position in the merged history, which is ordered by creation time (newest
+     * first), then personal before broadcast, then id (highest first).
+     */
+    private record Cursor(LocalDateTime createdAt, boolean broadcast, Long id) {
+
+        private static final Comparator<Cursor> ORDER = Comparator.comparing(Cursor::createdAt,
+                        Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Cursor::broadcast)
+                .thenComparing(Cursor::id, Comparator.reverseOrder());
+
+        private String encode() {
+            String raw = createdAt + "|" + (broadcast ? "b" : "p") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
 
+        private static Cursor decode(String value) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("\\|");
+                return new Cursor(LocalDateTime.parse(parts[0]), "b".equals(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
+
+    private record PageItem(Cursor position, NotificationResponse response) {
+    }
+
+    /**
+     * Personal notifications merged with the broadcasts for the user's role that
+     * were sent after the user was created, newest first.
+     */
     public List<NotificationResponse> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<TimedResponse> personal = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(n -> new TimedResponse(n.getCreatedAt(), mapToResponse(n)))
+                .toList();
+        return merge(personal, getBroadcasts(userId, false));
+    }
+
+    /**
+     * One page of the merged personal and broadcast history. Both streams are
+     * read from the cursor position with a limit, so the cost does not grow
+     * with the size of the history.
+     */
+    public NotificationPageResponse getNotificationPage(Long userId, String cursorValue, Integer limit) {
+        int size = limit != null ? Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        Cursor cursor = cursorValue != null && !cursorValue.isBlank() ? Cursor.decode(cursorValue) : null;
+        LocalDateTime before = cursor != null ? cursor.createdAt() : null;
+        PageRequest firstRows = PageRequest.of(0, size + 1);
+
+        // Personal rows at the cursor's own timestamp come first, so after a broadcast cursor none remain
+        Long personalBeforeId = cursor == null ? null : cursor.broadcast() ? Long.MIN_VALUE : cursor.id();
+        List<Notification> personal = cursor == null
+                ? notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, firstRows)
+                : notificationRepository.findPageBefore(userId, before, personalBeforeId, firstRows);
+        List<PageItem> items = new ArrayList<>();
+        for (Notification n : personal) {
+            items.add(new PageItem(new Cursor(n.getCreatedAt(), false, n.getId()), mapToResponse(n)));
+        }
+
+        User user = userRepository.findById(userId).orElse(null);
+        if (user != null && user.getRole() != null) {
+            long watermark = readMarkerRepository.findById(userId)
+                    .map(BroadcastReadMarker::getLastReadId)
+                    .orElse(0L);
+            LocalDateTime since = user.getCreatedAt() != null ? user.getCreatedAt() : BROADCASTS_SINCE_EPOCH;
+            Long broadcastBeforeId = cursor == null ? null : cursor.broadcast() ? cursor.id() : Long.MAX_VALUE;
+
+            List<BroadcastNotification> broadcasts = cursor == null
+                    ? broadcastRepository.findByTargetRoleAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdDesc(
+                            user.getRole(), since, firstRows)
+                    : broadcastRepository.findPageBefore(user.getRole(), since, before, broadcastBeforeId,
+                            firstRows);
+            for (BroadcastNotification b : broadcasts) {
+                items.add(new PageItem(new Cursor(b.getCreatedAt(), true, b.getId()), mapToResponse(b, watermark)));
+            }
+        }
+
+        items.sort(Comparator.comparing(PageItem::position, Cursor.ORDER));
+        boolean hasMore = items.size() > size;
+        List<PageItem> page = hasMore ? items.subList(0, size) : items;
+
+        return NotificationPageResponse.builder()
+                .items(page.stream().map(PageItem::response).collect(Collectors.toList()))
+                .nextCursor(hasMore ? page.get(page.size() - 1).position().encode() : null)
+                .build();
+    }
+
+    /**
+     * Notifications moved out by {@link NotificationRetentionJob}, newest first,
+     * paged by id. The cursor is the id of the last item returned.
+     */
+    public NotificationPageResponse getArchivedNotifications(Long userId, String cursor, Integer limit) {
+        int size = limit != null ? Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        PageRequest firstRows = PageRequest.of(0, size + 1);
+
+        List<ArchivedNotification> rows;
+        if (cursor != null && !cursor.isBlank()) {
+            long beforeId;
+            try {
+                beforeId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            rows = archivedNotificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, beforeId, firstRows);
+        } else {
+            rows = archivedNotificationRepository.findByUserIdOrderByIdDesc(userId, firstRows);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<ArchivedNotification> page = hasMore ? rows.subList(0, size) : rows;
+
+        return NotificationPageResponse.builder()
+                .items(page.stream()
+                        .map(n -> NotificationResponse.builder()
+                                .id(n.getId())
+                                .message(n.getMessage())
+                                .read(true)
+                                .createdAt(n.getCreatedAt() != null ? n.getCreatedAt().toString() : null)
+                                .build())
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null)
+                .build();
     }
 
     public List<NotificationResponse> getUnreadNotifications(Long userId) {
-        return notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<TimedResponse> personal = notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId)
+                .stream()
+                .map(n -> new TimedResponse(n.getCreatedAt(), mapToResponse(n)))
+                .toList();
+        return merge(personal, getBroadcasts(userId, true));
     }
 
+    /**
+     * Records a notification in the outbox as part of the caller's transaction.
+     * {@link NotificationWriter} writes it to the user's notifications after
+     * commit, in a batch with others.
+     */
     @Transactional
     public void createNotification(Long userId, String message) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Notification notification = Notification.builder()
-                .user(user)
+        NotificationOutbox entry = outboxRepository.save(NotificationOutbox.builder()
+                .userId(userId)
                 .message(message)
-                .read(false)
-                .build();
+                .build());
+        eventPublisher.publishEvent(new NotificationQueuedEvent(entry.getId()));
+    }
 
-        notificationRepository.save(notification);
+    /**
+     * Records the same notification for many users in the outbox with a single
+     * JDBC batch, without loading the users. Like {@link #createNotification}
+     * it is part of the caller's transaction and delivered after commit; rows
+     * whose generated id is not reported are picked up by the writer's sweep.
+     */
+    @Transactional
+    public void createNotifications(List<Long> userIds, String message) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_OUTBOX, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, userIds.get(i));
+                        ps.setString(2, message);
+                        ps.setTimestamp(3, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return userIds.size();
+                    }
+                }, keys);
+
+        for (Map<String, Object> key : keys.getKeyList()) {
+            Object id = key.values().stream().findFirst().orElse(null);
+            if (id instanceof Number number) {
+                eventPublisher.publishEvent(new NotificationQueuedEvent(number.longValue()));
+            }
+        }
     }
 
+    /**
+     * Marks one of the user's personal notifications as read. Personal and
+     * broadcast ids are separate sequences, so broadcasts go through
+     * {@link #markBroadcastAsRead(Long, Long)}; a notification of another user
+     * is reported as not found.
+     */
     @Transactional
-    public void markAsRead(Long notificationId) {
+    public void markAsRead(Long userId, Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
+                .filter(n -> n.getUser().getId().equals(userId))
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
         notification.setRead(true);
         notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationsReadEvent(notification.getUser().getId()));
+    }
+
+    /**
+     * Marks a broadcast as read for one user by moving the user's watermark up to
+     * it, which also covers older broadcasts. Only broadcasts sent to the user's
+     * role count, since the watermark is compared against those alone.
+     */
+    @Transactional
+    public void markBroadcastAsRead(Long userId, Long broadcastId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        broadcastRepository.findById(broadcastId)
+                .filter(b -> b.getTargetRole() == user.getRole())
+                .orElseThrow(() -> new RuntimeException("Notification not found"));
+        advanceWatermark(userId, broadcastId);
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId));
     }
 
     @Transactional
     public void markAllAsRead(Long userId) {
-        List<Notification> unread = notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
-        unread.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unread);
+        notificationRepository.markAllAsRead(userId);
+
+        userRepository.findById(userId).ifPresent(user -> {
+            Long latest = broadcastRepository.findMaxIdByTargetRole(user.getRole());
+            if (latest != null) {
+                advanceWatermark(userId, latest);
+            }
+        });
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId));
+    }
+
+    /**
+     * Marks the user's personal notifications created within {@code from..to}
+     * (inclusive) as read with one UPDATE. Broadcasts are tracked by a watermark
+     * and are not affected.
+     */
+    @Transactional
+    public int markRangeAsRead(Long userId, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        int updated = notificationRepository.markRangeAsRead(userId, from, to);
+        if (updated > 0) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(userId));
+        }
+        return updated;
     }
 
+    /**
+     * Notifies every admin with a single broadcast row, whatever the number of
+     * admins.
+     */
     @Transactional
     public void notifyAdmins(String message) {
-        List<User> admins = userRepository.findByRole(User.Role.ADMIN);
-        List<Notification> notifications = admins.stream()
-                .map(admin -> Notification.builder()
-                        .user(admin)
-                        .message(message)
-                        .read(false)
-                        .build())
-                .collect(Collectors.toList());
-        notificationRepository.saveAll(notifications);
+        BroadcastNotification broadcast = broadcastRepository.save(BroadcastNotification.builder()
+                .targetRole(User.Role.ADMIN)
+                .message(message)
+                .build());
+        eventPublisher.publishEvent(new BroadcastCreatedEvent(broadcast.getId(), broadcast.getTargetRole(),
+                broadcast.getMessage(), broadcast.getCreatedAt()));
+    }
+
+    private List<TimedResponse> getBroadcasts(Long userId, boolean unreadOnly) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.getRole() == null) {
+            return List.of();
+        }
+
+        long watermark = readMarkerRepository.findById(userId)
+                .map(BroadcastReadMarker::getLastReadId)
+                .orElse(0L);
+        LocalDateTime since = user.getCreatedAt() != null ? user.getCreatedAt() : BROADCASTS_SINCE_EPOCH;
+
+        List<BroadcastNotification> broadcasts = unreadOnly
+                ? broadcastRepository.findByTargetRoleAndIdGreaterThanAndCreatedAtGreaterThanEqualOrderByIdDesc(
+                        user.getRole(), watermark, since)
+                : broadcastRepository.findByTargetRoleAndCreatedAtGreaterThanEqualOrderByIdDesc(user.getRole(), since);
+
+        return broadcasts.stream()
+                .map(b -> new TimedResponse(b.getCreatedAt(), mapToResponse(b, watermark)))
+                .toList();
+    }
+
+    private static List<NotificationResponse> merge(List<TimedResponse> personal, List<TimedResponse> broadcasts) {
+        List<TimedResponse> merged = new ArrayList<>(personal.size() + broadcasts.size());
+        merged.addAll(personal);
+        merged.addAll(broadcasts);
+        merged.sort(Comparator.comparing(TimedResponse::createdAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged.stream().map(TimedResponse::response).collect(Collectors.toList());
+    }
+
+    private void advanceWatermark(Long userId, Long readUpTo) {
+        BroadcastReadMarker marker = readMarkerRepository.findById(userId)
+                .orElseGet(() -> BroadcastReadMarker.builder().userId(userId).lastReadId(0L).build());
+        if (readUpTo > marker.getLastReadId()) {
+            marker.setLastReadId(readUpTo);
+            readMarkerRepository.save(marker);
+        }
+    }
+
+    private NotificationResponse mapToResponse(BroadcastNotification broadcast, long watermark) {
+        return NotificationResponse.builder()
+                .id(broadcast.getId())
+                .message(broadcast.getMessage())
+                .read(broadcast.getId() <= watermark)
+                .createdAt(broadcast.getCreatedAt().toString())
+                .broadcast(true)
+                .build();
     }
 
     private NotificationResponse mapToResponse(Notification notification) {
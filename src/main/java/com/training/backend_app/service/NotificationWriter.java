@@ -0,0 +1,258 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.event.NotificationQueuedEvent;
+import com.training.backend_app.event.NotificationsDeliveredEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves notifications from the outbox into {@code notifications} on a single
+ * background thread, in batches.
+ * <p>
+ * Outbox ids are queued after the requesting transaction commits. The queue is
+ * bounded; when it is full the id is simply not queued and the row waits in the
+ * outbox for the next sweep, so request threads never block on it. The sweep
+ * also picks up rows left over from a crash or shutdown. Delivery locks and
+ * re-reads the outbox rows, so an id that was both queued and swept is written
+ * once.
+ * <p>
+ * When a batch fails its rows are retried one by one, so a single bad row does
+ * not hold back the others. A row that fails on its own has its attempts
+ * counted and after {@code notifications.writer.max-attempts} is moved to
+ * {@code notification_dead_letters}.
+ */
+@Component
+public class NotificationWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationWriter.class);
+
+    private static final String SELECT_PENDING =
+            "SELECT id, user_id, message, created_at FROM notification_outbox WHERE id IN (:ids) FOR UPDATE";
+
+    // Rows of deleted users are skipped instead of failing the batch
+    private static final String INSERT_NOTIFICATION = "INSERT INTO notifications (user_id, message, is_read, created_at) "
+            + "SELECT id, ?, false, ? FROM users WHERE id = ?";
+
+    private static final String MOVE_TO_DEAD_LETTERS = "INSERT INTO notification_dead_letters "
+            + "(id, user_id, message, created_at, attempts, last_error, failed_at) "
+            + "SELECT id, user_id, message, created_at, attempts, ?, ? FROM notification_outbox "
+            + "WHERE id = ? AND attempts >= ?";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private record PendingNotification(Long id, Long userId, String message, Timestamp createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long sweepIntervalMillis;
+    private final long sweepGraceSeconds;
+    private final BlockingQueue<Long> queue;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public NotificationWriter(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${notifications.writer.queue-capacity:10000}") int queueCapacity,
+                              @Value("${notifications.writer.batch-size:500}") int batchSize,
+                              @Value("${notifications.writer.max-attempts:5}") int maxAttempts,
+                              @Value("${notifications.writer.sweep-interval-ms:5000}") long sweepIntervalMillis,
+                              @Value("${notifications.writer.sweep-grace-seconds:30}") long sweepGraceSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        this.sweepGraceSeconds = sweepGraceSeconds;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "notification-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationQueued(NotificationQueuedEvent event) {
+        if (!queue.offer(event.outboxId())) {
+            deferred.increment();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("delivered", delivered.sum());
+        stats.put("deferredToSweep", deferred.sum());
+        stats.put("deadLettered", deadLettered.sum());
+        return stats;
+    }
+
+    private void run() {
+        // Nothing is queued yet, so everything in the outbox is left over
+        sweep(0);
+        long lastSweep = System.currentTimeMillis();
+
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Long first = queue.poll(sweepIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    deliverOrIsolate(batch);
+                }
+                if (System.currentTimeMillis() - lastSweep >= sweepIntervalMillis) {
+                    sweep(sweepGraceSeconds);
+                    lastSweep = System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Notification delivery failed; the rows stay in the outbox for the next sweep", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Delivers outbox rows older than the grace period, which covers ids that
+     * were never queued or were lost with the queue.
+     */
+    private void sweep(long graceSeconds) {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusSeconds(graceSeconds));
+        // Walks forward by id, so rows that failed in this sweep are not picked up again until the next one
+        long afterId = 0;
+        while (running) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM notification_outbox WHERE created_at <= ? AND id > ? ORDER BY id LIMIT ?",
+                    Long.class, cutoff, afterId, batchSize);
+            if (ids.isEmpty()) {
+                return;
+            }
+            deliverOrIsolate(ids);
+            if (ids.size() < batchSize) {
+                return;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Delivers the batch, or on failure each row on its own, counting the
+     * failures of rows that fail alone.
+     */
+    private void deliverOrIsolate(List<Long> ids) {
+        try {
+            deliver(ids);
+            return;
+        } catch (RuntimeException e) {
+            if (ids.size() == 1) {
+                recordFailure(ids.get(0), e);
+                return;
+            }
+            logger.warn("Notification batch of {} failed, retrying the rows one by one", ids.size(), e);
+        }
+        for (Long id : ids) {
+            try {
+                deliver(List.of(id));
+            } catch (RuntimeException e) {
+                recordFailure(id, e);
+            }
+        }
+    }
+
+    private void recordFailure(Long id, RuntimeException failure) {
+        String error = String.valueOf(failure.getMessage());
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        boolean moved = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE notification_outbox SET attempts = COALESCE(attempts, 0) + 1 WHERE id = ?", id);
+            if (jdbcTemplate.update(MOVE_TO_DEAD_LETTERS, lastError, Timestamp.valueOf(LocalDateTime.now()), id,
+                    maxAttempts) == 0) {
+                return false;
+            }
+            jdbcTemplate.update("DELETE FROM notification_outbox WHERE id = ?", id);
+            return true;
+        }));
+        if (moved) {
+            deadLettered.increment();
+            logger.error("Notification outbox row {} failed {} times, moved to notification_dead_letters: {}", id,
+                    maxAttempts, lastError);
+        } else {
+            logger.warn("Notification outbox row {} failed, it stays in the outbox: {}", id, lastError);
+        }
+    }
+
+    private void deliver(List<Long> ids) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<PendingNotification> pending = namedJdbcTemplate.query(SELECT_PENDING,
+                    new MapSqlParameterSource("ids", ids),
+                    (rs, rowNum) -> new PendingNotification(rs.getLong("id"), rs.getLong("user_id"),
+                            rs.getString("message"), rs.getTimestamp("created_at")));
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, pending, batchSize, (ps, notification) -> {
+                ps.setString(1, notification.message());
+                ps.setTimestamp(2, notification.createdAt());
+                ps.setLong(3, notification.userId());
+            });
+            namedJdbcTemplate.update("DELETE FROM notification_outbox WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", pending.stream().map(PendingNotification::id).toList()));
+
+            delivered.add(pending.size());
+
+            // Published inside the transaction so listeners see its before-commit and after-commit phases
+            eventPublisher.publishEvent(new NotificationsDeliveredEvent(pending.stream()
+                    .map(notification -> new NotificationsDeliveredEvent.Delivery(notification.userId(),
+                            notification.message(),
+                            notification.createdAt() != null ? notification.createdAt().toLocalDateTime() : null))
+                    .toList()));
+        });
+    }
+}
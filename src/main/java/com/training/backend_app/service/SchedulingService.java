@@ -2,6 +2,9 @@ package com.training.backend_app.service;
 
 import com.training.backend_app.dto.SlotRequest;
 import com.training.backend_app.dto.SlotResponse;
+import com.training.backend_app.dto.WeekCloneRequest;
+import com.training.backend_app.dto.WeekGridRequest;
+import com.training.backend_app.dto.WeekGridResponse;
 import com.training.backend_app.dto.WeekRequest;
 import com.training.backend_app.dto.WeekResponse;
 import com.training.backend_app.entity.Course;
@@ -12,14 +15,24 @@ import com.training.backend_app.entity.Week;
 import com.training.backend_app.repository.CourseRepository;
 import com.training.backend_app.repository.ModuleRepository;
 import com.training.backend_app.repository.SlotRepository;
+import com.training.backend_app.repository.TimetableSlotView;
 import com.training.backend_app.repository.UserRepository;
 import com.training.backend_app.repository.WeekRepository;
+import com.training.backend_app.event.ScheduleChangedEvent;
+import com.training.backend_app.event.WeekCreatedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +44,17 @@ public class SchedulingService {
         private final CourseRepository courseRepository;
         private final ModuleRepository moduleRepository;
         private final UserRepository userRepository;
+        private final ApplicationEventPublisher eventPublisher;
+        private final TrainerOccupancyIndex occupancyIndex;
+        private final SlotBatchWriter slotBatchWriter;
+
+        /**
+         * Validated slots of a week grid, with the trainer bookings they imply
+         * (trainerId to occupancy bitset) and the courses they touch.
+         */
+        private record GridPlan(List<SlotBatchWriter.SlotRow> rows, Map<Long, Integer> bookings,
+                        Set<Long> courseIds) {
+        }
 
         @Transactional
         public WeekResponse createWeek(WeekRequest request) {
@@ -39,6 +63,7 @@ public class SchedulingService {
                                 .build();
 
                 weekRepository.save(week);
+                eventPublisher.publishEvent(new WeekCreatedEvent(week.getId(), week.getWeekNumber()));
 
                 return WeekResponse.builder()
                                 .id(week.getId())
@@ -75,12 +100,7 @@ public class SchedulingService {
 
                 DayOfWeek dayOfWeek = DayOfWeek.valueOf(request.getDayOfWeek().toUpperCase());
 
-                boolean trainerBooked = slotRepository.existsByWeekIdAndTrainerIdAndDayOfWeekAndSlotNumber(
-                                weekId, request.getTrainerId(), dayOfWeek, request.getSlotNumber());
-
-                if (trainerBooked) {
-                        throw new RuntimeException("Trainer is already booked for this slot");
-                }
+                occupancyIndex.reserve(weekId, trainer.getId(), dayOfWeek, request.getSlotNumber());
 
                 Slot slot = Slot.builder()
                                 .week(week)
@@ -89,9 +109,13 @@ public class SchedulingService {
                                 .trainer(trainer)
                                 .dayOfWeek(dayOfWeek)
                                 .slotNumber(request.getSlotNumber())
+                                .startTime(SlotTimes.startTimeOr(request.getStartTime(), request.getSlotNumber()))
+                                .endTime(SlotTimes.endTimeOr(request.getEndTime(), request.getSlotNumber()))
                                 .build();
 
                 slotRepository.save(slot);
+                eventPublisher.publishEvent(new ScheduleChangedEvent(
+                                Set.of(course.getId(), module.getCourse().getId())));
 
                 return SlotResponse.builder()
                                 .id(slot.getId())
@@ -108,43 +132,36 @@ public class SchedulingService {
         }
 
         public List<SlotResponse> getSlotsByWeekId(Long weekId) {
-                return slotRepository.findByWeekId(weekId).stream()
-                                .map(slot -> SlotResponse.builder()
-                                                .id(slot.getId())
-                                                .weekId(slot.getWeek() != null ? slot.getWeek().getId() : null)
-                                                .courseId(slot.getCourse() != null ? slot.getCourse().getId() : null)
-                                                .courseName(slot.getCourse() != null ? slot.getCourse().getName()
-                                                                : "N/A")
-                                                .moduleId(slot.getModule() != null ? slot.getModule().getId() : null)
-                                                .moduleName(slot.getModule() != null ? slot.getModule().getName()
-                                                                : "N/A")
-                                                .trainerId(slot.getTrainer() != null ? slot.getTrainer().getId() : null)
-                                                .trainerName(slot.getTrainer() != null ? slot.getTrainer().getName()
-                                                                : "N/A")
-                                                .dayOfWeek(slot.getDayOfWeek() != null ? slot.getDayOfWeek().name()
-                                                                : null)
-                                                .slotNumber(slot.getSlotNumber())
-                                                .build())
-                                .collect(Collectors.toList());
+                return getSlots(weekId, null, null, null, null, null);
         }
 
         public List<SlotResponse> getSlotsByTrainerId(Long trainerId) {
-                return slotRepository.findByTrainerId(trainerId).stream()
-                                .map(slot -> SlotResponse.builder()
-                                                .id(slot.getId())
-                                                .weekId(slot.getWeek() != null ? slot.getWeek().getId() : null)
-                                                .courseId(slot.getCourse() != null ? slot.getCourse().getId() : null)
-                                                .courseName(slot.getCourse() != null ? slot.getCourse().getName()
-                                                                : "N/A")
-                                                .moduleId(slot.getModule() != null ? slot.getModule().getId() : null)
-                                                .moduleName(slot.getModule() != null ? slot.getModule().getName()
-                                                                : "N/A")
-                                                .trainerId(slot.getTrainer() != null ? slot.getTrainer().getId() : null)
-                                                .trainerName(slot.getTrainer() != null ? slot.getTrainer().getName()
+                return getSlots(null, trainerId, null, null, null, null);
+        }
+
+        /**
+         * Slot listing with optional filters, read in one joined query without
+         * loading slot entities.
+         */
+        public List<SlotResponse> getSlots(Long weekId, Long trainerId, Long courseId, String dayOfWeek,
+                        Integer fromWeek, Integer toWeek) {
+                DayOfWeek day = dayOfWeek != null ? DayOfWeek.valueOf(dayOfWeek.toUpperCase()) : null;
+
+                return slotRepository.findSlotViews(weekId, trainerId, courseId, day, fromWeek, toWeek).stream()
+                                .sorted(TimetableSlotView.CHRONOLOGICAL)
+                                .map(row -> SlotResponse.builder()
+                                                .id(row.getSlotId())
+                                                .weekId(row.getWeekId())
+                                                .courseId(row.getCourseId())
+                                                .courseName(row.getCourseName() != null ? row.getCourseName() : "N/A")
+                                                .moduleId(row.getModuleId())
+                                                .moduleName(row.getModuleName() != null ? row.getModuleName() : "N/A")
+                                                .trainerId(row.getTrainerId())
+                                                .trainerName(row.getTrainerName() != null ? row.getTrainerName()
                                                                 : "N/A")
-                                                .dayOfWeek(slot.getDayOfWeek() != null ? slot.getDayOfWeek().name()
+                                                .dayOfWeek(row.getDayOfWeek() != null ? row.getDayOfWeek().name()
                                                                 : null)
-                                                .slotNumber(slot.getSlotNumber())
+                                                .slotNumber(row.getSlotNumber())
                                                 .build())
                                 .collect(Collectors.toList());
         }
@@ -164,25 +181,48 @@ public class SchedulingService {
                         throw new RuntimeException("User is not a trainer");
                 }
 
-                // Check if trainer is already booked for this slot (excluding current slot)
                 DayOfWeek dayOfWeek = DayOfWeek.valueOf(request.getDayOfWeek().toUpperCase());
 
-                boolean trainerBooked = slotRepository.findByTrainerAndDayAndSlot(
-                                request.getTrainerId(), dayOfWeek, request.getSlotNumber())
-                                .filter(s -> !s.getId().equals(slotId))
-                                .isPresent();
+                // Book the new cell in this slot's week and free the old one, unless nothing moved
+                Long weekId = slot.getWeek().getId();
+                Long previousTrainerId = slot.getTrainer() != null ? slot.getTrainer().getId() : null;
+                boolean unchanged = trainer.getId().equals(previousTrainerId)
+                                && dayOfWeek == slot.getDayOfWeek()
+                                && request.getSlotNumber().equals(slot.getSlotNumber());
+
+                if (!unchanged) {
+                        occupancyIndex.reserve(weekId, trainer.getId(), dayOfWeek, request.getSlotNumber());
+                        if (previousTrainerId != null && slot.getSlotNumber() != null) {
+                                occupancyIndex.release(weekId, previousTrainerId, slot.getDayOfWeek(),
+                                                slot.getSlotNumber());
+                        }
+                }
 
-                if (trainerBooked) {
-                        throw new RuntimeException("Trainer is already booked for this slot");
+                Set<Long> affectedCourseIds = new HashSet<>();
+                if (slot.getModule() != null) {
+                        affectedCourseIds.add(slot.getModule().getCourse().getId());
                 }
+                affectedCourseIds.add(module.getCourse().getId());
+
+                // Times not given keep their value, or take the defaults if the slot number changed
+                boolean slotNumberChanged = !request.getSlotNumber().equals(slot.getSlotNumber());
+                String startTime = request.getStartTime() != null && !request.getStartTime().isBlank()
+                                ? request.getStartTime()
+                                : slotNumberChanged ? null : slot.getStartTime();
+                String endTime = request.getEndTime() != null && !request.getEndTime().isBlank()
+                                ? request.getEndTime()
+                                : slotNumberChanged ? null : slot.getEndTime();
 
                 // Update slot
                 slot.setModule(module);
                 slot.setTrainer(trainer);
                 slot.setDayOfWeek(dayOfWeek);
                 slot.setSlotNumber(request.getSlotNumber());
+                slot.setStartTime(SlotTimes.startTimeOr(startTime, request.getSlotNumber()));
+                slot.setEndTime(SlotTimes.endTimeOr(endTime, request.getSlotNumber()));
 
                 slotRepository.save(slot);
+                eventPublisher.publishEvent(new ScheduleChangedEvent(affectedCourseIds));
 
                 return SlotResponse.builder()
                                 .id(slot.getId())
@@ -197,4 +237,187 @@ public class SchedulingService {
                                 .slotNumber(slot.getSlotNumber())
                                 .build();
         }
+
+        /**
+         * Creates or replaces the whole slot grid of a week. All slots are
+         * validated in memory against each other (the week's previous slots are
+         * discarded), then written with one JDBC batch.
+         */
+        @Transactional
+        public WeekGridResponse replaceWeekSlots(Long weekId, WeekGridRequest request) {
+                Week week = weekRepository.findById(weekId)
+                                .orElseThrow(() -> new RuntimeException("Week not found"));
+
+                GridPlan plan = planGrid(request.getSlots());
+                return replaceGrids(List.of(week), plan).get(0);
+        }
+
+        /**
+         * Copies the slot grid of a week into the following {@code copies} weeks,
+         * creating the weeks that do not exist yet.
+         */
+        @Transactional
+        public List<WeekGridResponse> cloneWeek(Long weekId, WeekCloneRequest request) {
+                Week source = weekRepository.findById(weekId)
+                                .orElseThrow(() -> new RuntimeException("Week not found"));
+
+                GridPlan plan = planFromSlots(slotRepository.findByWeekId(weekId));
+
+                int from = source.getWeekNumber() + 1;
+                int to = source.getWeekNumber() + request.getCopies();
+                Map<Integer, Week> existing = weekRepository.findByWeekNumberBetween(from, to).stream()
+                                .collect(Collectors.toMap(Week::getWeekNumber, Function.identity(),
+                                                (first, second) -> first));
+
+                List<Week> targets = new ArrayList<>();
+                for (int weekNumber = from; weekNumber <= to; weekNumber++) {
+                        Week target = existing.get(weekNumber);
+                        if (target == null) {
+                                target = weekRepository.save(Week.builder()
+                                                .name("Week " + weekNumber)
+                                                .weekNumber(weekNumber)
+                                                .build());
+                                eventPublisher.publishEvent(new WeekCreatedEvent(target.getId(), weekNumber));
+                        }
+                        targets.add(target);
+                }
+
+                if (!request.isReplaceExisting()) {
+                        Set<Long> nonEmpty = slotRepository.findWeekIdsWithSlots(
+                                        targets.stream().map(Week::getId).toList());
+                        if (!nonEmpty.isEmpty()) {
+                                String weekNumbers = targets.stream()
+                                                .filter(week -> nonEmpty.contains(week.getId()))
+                                                .map(week -> String.valueOf(week.getWeekNumber()))
+                                                .collect(Collectors.joining(", "));
+                                throw new RuntimeException("Target weeks already have slots: " + weekNumbers);
+                        }
+                }
+
+                return replaceGrids(targets, plan);
+        }
+
+        private List<WeekGridResponse> replaceGrids(List<Week> weeks, GridPlan plan) {
+                List<Long> weekIds = weeks.stream().map(Week::getId).toList();
+
+                Set<Long> affectedCourseIds = new HashSet<>(slotRepository.findCourseIdsByWeekIdIn(weekIds));
+                affectedCourseIds.addAll(plan.courseIds());
+
+                slotRepository.deleteByWeekIdIn(weekIds);
+
+                List<SlotBatchWriter.SlotRow> rows = new ArrayList<>();
+                for (Week week : weeks) {
+                        occupancyIndex.replaceWeek(week.getId(), plan.bookings());
+                        for (SlotBatchWriter.SlotRow row : plan.rows()) {
+                                rows.add(new SlotBatchWriter.SlotRow(week.getId(), row.courseId(), row.moduleId(),
+                                                row.trainerId(), row.dayOfWeek(), row.slotNumber(), row.startTime(),
+                                                row.endTime()));
+                        }
+                }
+                slotBatchWriter.insert(rows);
+
+                if (!affectedCourseIds.isEmpty()) {
+                        eventPublisher.publishEvent(new ScheduleChangedEvent(affectedCourseIds));
+                }
+
+                return weeks.stream()
+                                .map(week -> WeekGridResponse.builder()
+                                                .weekId(week.getId())
+                                                .weekNumber(week.getWeekNumber())
+                                                .slotCount(plan.rows().size())
+                                                .build())
+                                .collect(Collectors.toList());
+        }
+
+        /**
+         * Resolves and validates a requested grid with three lookups in total, one
+         * per referenced entity type.
+         */
+        private GridPlan planGrid(List<SlotRequest> requests) {
+                Map<Long, Course> courses = courseRepository.findAllById(
+                                requests.stream().map(SlotRequest::getCourseId).collect(Collectors.toSet())).stream()
+                                .collect(Collectors.toMap(Course::getId, Function.identity()));
+                Map<Long, Module> modules = moduleRepository.findAllById(
+                                requests.stream().map(SlotRequest::getModuleId).collect(Collectors.toSet())).stream()
+                                .collect(Collectors.toMap(Module::getId, Function.identity()));
+                Map<Long, User> trainers = userRepository.findAllById(
+                                requests.stream().map(SlotRequest::getTrainerId).collect(Collectors.toSet())).stream()
+                                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+                List<SlotBatchWriter.SlotRow> rows = new ArrayList<>();
+                Map<Long, Integer> bookings = new HashMap<>();
+                Set<Long> courseIds = new HashSet<>();
+
+                for (int i = 0; i < requests.size(); i++) {
+                        SlotRequest request = requests.get(i);
+                        String position = "Slot " + (i + 1) + ": ";
+
+                        Course course = courses.get(request.getCourseId());
+                        if (course == null) {
+                                throw new RuntimeException(position + "Course not found");
+                        }
+                        Module module = modules.get(request.getModuleId());
+                        if (module == null) {
+                                throw new RuntimeException(position + "Module not found");
+                        }
+                        User trainer = trainers.get(request.getTrainerId());
+                        if (trainer == null) {
+                                throw new RuntimeException(position + "Trainer not found");
+                        }
+                        if (trainer.getRole() != User.Role.TRAINER) {
+                                throw new RuntimeException(position + "User is not a trainer");
+                        }
+
+                        DayOfWeek dayOfWeek;
+                        try {
+                                dayOfWeek = DayOfWeek.valueOf(request.getDayOfWeek().toUpperCase());
+                        } catch (IllegalArgumentException e) {
+                                throw new RuntimeException(position + "Invalid day of week " + request.getDayOfWeek());
+                        }
+
+                        int bit = TrainerOccupancyIndex.bit(dayOfWeek, request.getSlotNumber());
+                        int booked = bookings.getOrDefault(trainer.getId(), 0);
+                        if ((booked & bit) != 0) {
+                                throw new RuntimeException(position + "Trainer is already booked for this slot");
+                        }
+                        bookings.put(trainer.getId(), booked | bit);
+
+                        courseIds.add(course.getId());
+                        courseIds.add(module.getCourse().getId());
+                        rows.add(new SlotBatchWriter.SlotRow(null, course.getId(), module.getId(), trainer.getId(),
+                                        dayOfWeek, request.getSlotNumber(), request.getStartTime(),
+                                        request.getEndTime()));
+                }
+
+                return new GridPlan(rows, bookings, courseIds);
+        }
+
+        /**
+         * Plan of an existing week's slots, used as the template when cloning. The
+         * associations are only read for their ids, so no lazy loading happens.
+         */
+        private GridPlan planFromSlots(List<Slot> slots) {
+                List<SlotBatchWriter.SlotRow> rows = new ArrayList<>();
+                Map<Long, Integer> bookings = new HashMap<>();
+                Set<Long> courseIds = new HashSet<>();
+
+                for (Slot slot : slots) {
+                        Long courseId = slot.getCourse() != null ? slot.getCourse().getId() : null;
+                        Long moduleId = slot.getModule() != null ? slot.getModule().getId() : null;
+                        Long trainerId = slot.getTrainer() != null ? slot.getTrainer().getId() : null;
+
+                        if (trainerId != null) {
+                                bookings.merge(trainerId, TrainerOccupancyIndex.bit(slot.getDayOfWeek(),
+                                                slot.getSlotNumber()), (a, b) -> a | b);
+                        }
+                        if (courseId != null) {
+                                courseIds.add(courseId);
+                        }
+                        rows.add(new SlotBatchWriter.SlotRow(null, courseId, moduleId, trainerId,
+                                        slot.getDayOfWeek(), slot.getSlotNumber(), slot.getStartTime(),
+                                        slot.getEndTime()));
+                }
+
+                return new GridPlan(rows, bookings, courseIds);
+        }
 }
@@ -0,0 +1,62 @@
+package com.training.backend_app.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts many slots with JDBC batches instead of one {@code save} per slot.
+ * Callers validate the rows and keep {@link TrainerOccupancyIndex} in step.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SLOT = "INSERT INTO slots (week_id, course_id, module_id, trainer_id, "
+            + "day_of_week, slot_number, start_time, end_time, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public record SlotRow(Long weekId, Long courseId, Long moduleId, Long trainerId, DayOfWeek dayOfWeek,
+            int slotNumber, String startTime, String endTime) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<SlotRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SLOT, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.weekId());
+            setNullableLong(ps, 2, row.courseId());
+            setNullableLong(ps, 3, row.moduleId());
+            setNullableLong(ps, 4, row.trainerId());
+            ps.setString(5, row.dayOfWeek().name());
+            ps.setInt(6, row.slotNumber());
+            ps.setString(7, SlotTimes.startTimeOr(row.startTime(), row.slotNumber()));
+            ps.setString(8, SlotTimes.endTimeOr(row.endTime(), row.slotNumber()));
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.training.backend_app.service;
+
+/**
+ * Default teaching hours of the four daily slots, used whenever a slot is
+ * written without explicit start and end times.
+ */
+public final class SlotTimes {
+
+    private static final String[] START_TIMES = { "09:00", "11:00", "14:00", "16:00" };
+    private static final String[] END_TIMES = { "11:00", "13:00", "16:00", "18:00" };
+
+    private SlotTimes() {
+    }
+
+    public static String startTime(int slotNumber) {
+        return START_TIMES[index(slotNumber)];
+    }
+
+    public static String endTime(int slotNumber) {
+        return END_TIMES[index(slotNumber)];
+    }
+
+    /**
+     * The given time, or the slot's default when it is missing or blank.
+     */
+    public static String startTimeOr(String startTime, int slotNumber) {
+        return startTime != null && !startTime.isBlank() ? startTime : startTime(slotNumber);
+    }
+
+    public static String endTimeOr(String endTime, int slotNumber) {
+        return endTime != null && !endTime.isBlank() ? endTime : endTime(slotNumber);
+    }
+
+    private static int index(int slotNumber) {
+        if (slotNumber < 1 || slotNumber > TrainerOccupancyIndex.SLOTS_PER_DAY) {
+            throw new RuntimeException("Slot number must be between 1 and " + TrainerOccupancyIndex.SLOTS_PER_DAY);
+        }
+        return slotNumber - 1;
+    }
+}
@@ -0,0 +1,273 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.ApprovalRateResponse;
+import com.training.backend_app.dto.CourseFillResponse;
+import com.training.backend_app.dto.TrainerUtilizationResponse;
+import com.training.backend_app.entity.Enrollment;
+import com.training.backend_app.event.CatalogChangedEvent;
+import com.training.backend_app.event.EnrollmentChangedEvent;
+import com.training.backend_app.event.ScheduleChangedEvent;
+import com.training.backend_app.event.UserChangedEvent;
+import com.training.backend_app.event.WeekCreatedEvent;
+import com.training.backend_app.repository.CourseStatusCountView;
+import com.training.backend_app.repository.EnrollmentRepository;
+import com.training.backend_app.repository.MonthlyStatusCountView;
+import com.training.backend_app.repository.SlotRepository;
+import com.training.backend_app.repository.TrainerWeekLoadView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Admin analytics computed with grouped queries and served from memory.
+ * Reports are loaded when the application is ready and afterwards only by the
+ * scheduled refresh: reports touched by a write since their last load are
+ * reloaded on the next tick, the rest once their TTL has passed. Requests get
+ * the last loaded report; only a request arriving before the first load runs
+ * the aggregation itself.
+ */
+@Service
+public class StatsAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsAnalyticsService.class);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final SlotRepository slotRepository;
+    private final long ttlMillis;
+
+    private final CachedReport<List<CourseFillResponse>> courseFill;
+    private final CachedReport<List<ApprovalRateResponse>> approvalRates;
+    private final CachedReport<List<TrainerUtilizationResponse>> trainerUtilization;
+
+    public StatsAnalyticsService(EnrollmentRepository enrollmentRepository,
+                                 SlotRepository slotRepository,
+                                 @Value("${stats.analytics.ttl-ms:600000}") long ttlMillis) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.slotRepository = slotRepository;
+        this.ttlMillis = ttlMillis;
+        this.courseFill = new CachedReport<>("course fill", this::loadCourseFill);
+        this.approvalRates = new CachedReport<>("approval rates", this::loadApprovalRates);
+        this.trainerUtilization = new CachedReport<>("trainer utilization", this::loadTrainerUtilization);
+    }
+
+    public List<CourseFillResponse> getCourseFill() {
+        return courseFill.get();
+    }
+
+    /**
+     * @param from first month to include, yyyy-MM; null for no lower bound
+     * @param to   last month to include, yyyy-MM; null for no upper bound
+     */
+    public List<ApprovalRateResponse> getApprovalRates(String from, String to) {
+        // yyyy-MM strings compare in calendar order
+        String lower = from != null ? YearMonth.parse(from).toString() : null;
+        String upper = to != null ? YearMonth.parse(to).toString() : null;
+        return approvalRates.get().stream()
+                .filter(rate -> lower == null || rate.getMonth().compareTo(lower) >= 0)
+                .filter(rate -> upper == null || rate.getMonth().compareTo(upper) <= 0)
+                .collect(Collectors.toList());
+    }
+
+    public List<TrainerUtilizationResponse> getTrainerUtilization(Long trainerId, Integer fromWeek, Integer toWeek) {
+        return trainerUtilization.get().stream()
+                .filter(row -> trainerId == null || trainerId.equals(row.getTrainerId()))
+                .filter(row -> fromWeek == null || row.getWeekNumber() >= fromWeek)
+                .filter(row -> toWeek == null || row.getWeekNumber() <= toWeek)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.analytics.refresh-ms:30000}")
+    public void refresh() {
+        courseFill.refreshIfNeeded(ttlMillis);
+        approvalRates.refreshIfNeeded(ttlMillis);
+        trainerUtilization.refreshIfNeeded(ttlMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        courseFill.markDirty();
+        approvalRates.markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.type()) {
+            case COURSE_CREATED, COURSE_UPDATED -> courseFill.markDirty();
+            case COURSE_DELETED -> {
+                // Deleting a course also drops its enrollments and slots
+                courseFill.markDirty();
+                approvalRates.markDirty();
+                trainerUtilization.markDirty();
+            }
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        trainerUtilization.markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeekCreated(WeekCreatedEvent event) {
+        trainerUtilization.markDirty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Trainer names and role changes show up in the utilization rows
+        if (event.type() != UserChangedEvent.Type.CREATED) {
+            trainerUtilization.markDirty();
+        }
+    }
+
+    private List<CourseFillResponse> loadCourseFill() {
+        Map<Long, CourseFillResponse> byCourse = new LinkedHashMap<>();
+        for (CourseStatusCountView row : enrollmentRepository.countByCourseAndStatus()) {
+            CourseFillResponse fill = byCourse.computeIfAbsent(row.getCourseId(), id -> CourseFillResponse.builder()
+                    .courseId(id)
+                    .courseName(row.getCourseName())
+                    .build());
+            if (row.getCount() == 0) {
+                continue;
+            }
+            switch (statusOf(row.getStatus())) {
+                case PENDING -> fill.setPending(fill.getPending() + row.getCount());
+                case APPROVED -> fill.setApproved(fill.getApproved() + row.getCount());
+                case REJECTED -> fill.setRejected(fill.getRejected() + row.getCount());
+            }
+            fill.setTotal(fill.getTotal() + row.getCount());
+        }
+        List<CourseFillResponse> fills = new ArrayList<>(byCourse.values());
+        fills.sort(Comparator.comparingLong(CourseFillResponse::getTotal).reversed()
+                .thenComparing(CourseFillResponse::getCourseId));
+        return List.copyOf(fills);
+    }
+
+    private List<ApprovalRateResponse> loadApprovalRates() {
+        Map<YearMonth, ApprovalRateResponse> byMonth = new TreeMap<>();
+        for (MonthlyStatusCountView row : enrollmentRepository.countByMonthAndStatus()) {
+            YearMonth month = YearMonth.of(row.getEnrolledYear(), row.getEnrolledMonth());
+            ApprovalRateResponse rate = byMonth.computeIfAbsent(month, m -> ApprovalRateResponse.builder()
+                    .month(m.toString())
+                    .build());
+            switch (statusOf(row.getStatus())) {
+                case PENDING -> rate.setPending(rate.getPending() + row.getCount());
+                case APPROVED -> rate.setApproved(rate.getApproved() + row.getCount());
+                case REJECTED -> rate.setRejected(rate.getRejected() + row.getCount());
+            }
+            rate.setRequested(rate.getRequested() + row.getCount());
+        }
+        for (ApprovalRateResponse rate : byMonth.values()) {
+            long decided = rate.getApproved() + rate.getRejected();
+            if (decided > 0) {
+                rate.setApprovalRate((double) rate.getApproved() / decided);
+                rate.setRejectionRate((double) rate.getRejected() / decided);
+            }
+        }
+        return List.copyOf(byMonth.values());
+    }
+
+    private List<TrainerUtilizationResponse> loadTrainerUtilization() {
+        return slotRepository.countSlotsByWeekAndTrainer().stream()
+                .sorted(Comparator.comparing(TrainerWeekLoadView::getWeekNumber)
+                        .thenComparing(TrainerWeekLoadView::getTrainerName,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(row -> TrainerUtilizationResponse.builder()
+                        .weekId(row.getWeekId())
+                        .weekNumber(row.getWeekNumber())
+                        .trainerId(row.getTrainerId())
+                        .trainerName(row.getTrainerName())
+                        .bookedSlots(row.getBookedSlots())
+                        .totalSlots(TrainerOccupancyIndex.SLOTS_PER_WEEK)
+                        .utilization((double) row.getBookedSlots() / TrainerOccupancyIndex.SLOTS_PER_WEEK)
+                        .build())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    // Rows written before statuses existed are shown as approved, as in EnrollmentService
+    private static Enrollment.EnrollmentStatus statusOf(Enrollment.EnrollmentStatus status) {
+        return status != null ? status : Enrollment.EnrollmentStatus.APPROVED;
+    }
+
+    /**
+     * One report with its load time. A write marks it dirty; a load that
+     * overlapped a write leaves it dirty so the next tick picks the write up.
+     */
+    private static final class CachedReport<T> {
+
+        private final String name;
+        private final Supplier<T> loader;
+
+        private volatile T value;
+        private volatile long loadedAt;
+        private final AtomicLong version = new AtomicLong();
+        private long loadedVersion;
+
+        CachedReport(String name, Supplier<T> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        T get() {
+            T current = value;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (value == null) {
+                    load();
+                }
+                return value;
+            }
+        }
+
+        void markDirty() {
+            version.incrementAndGet();
+        }
+
+        synchronized void refreshIfNeeded(long ttlMillis) {
+            boolean dirty = value == null || version.get() != loadedVersion;
+            boolean expired = System.currentTimeMillis() - loadedAt >= ttlMillis;
+            if (dirty || expired) {
+                try {
+                    load();
+                } catch (RuntimeException e) {
+                    // Keep serving the previous report
+                    logger.warn("Refreshing {} report failed: {}", name, e.getMessage());
+                }
+            }
+        }
+
+        private void load() {
+            long startedAt = version.get();
+            long start = System.currentTimeMillis();
+            value = loader.get();
+            loadedAt = start;
+            loadedVersion = startedAt;
+            logger.debug("Loaded {} report in {} ms", name, System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.entity.User;
+import com.training.backend_app.event.UserChangedEvent;
+import com.training.backend_app.ingest.ImportChunkResult;
+import com.training.backend_app.ingest.ImportRow;
+import com.training.backend_app.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports student rows (name, email, password) one chunk at a time. Email
+ * uniqueness is checked with one set query per chunk, BCrypt hashing is spread
+ * over a bounded pool sized to the available cores, and the accepted rows are
+ * written with a single JDBC batch. Rejected rows keep their row number in the
+ * error list.
+ */
+@Component
+public class StudentImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImporter.class);
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, email, password, role, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private record StudentRow(ImportRow row, String name, String email, String password) {
+    }
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int hashingThreads;
+    private final ExecutorService hashingPool;
+
+    public StudentImporter(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           JdbcTemplate jdbcTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${imports.hashing-threads:0}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+
+        // 0 means one hashing thread per available core
+        this.hashingThreads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingPool = Executors.newFixedThreadPool(this.hashingThreads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    public int getHashingThreads() {
+        return hashingThreads;
+    }
+
+    /**
+     * Student files always start with a header row.
+     */
+    public static boolean isHeader(String[] cells) {
+        return true;
+    }
+
+    public ImportChunkResult importChunk(List<ImportRow> rows) {
+        long startedAt = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+
+        List<StudentRow> candidates = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.cells().length < 3) {
+                errors.add("Row " + row.rowNumber() + ": expected name, email and password");
+                continue;
+            }
+            candidates.add(new StudentRow(row, row.cell(0), row.cell(1), row.cell(2)));
+        }
+
+        Set<String> existing = candidates.isEmpty()
+                ? Set.of()
+                : userRepository.findExistingEmails(candidates.stream().map(StudentRow::email).toList()).stream()
+                        .map(StudentImporter::normalize)
+                        .collect(Collectors.toSet());
+
+        Set<String> seen = new HashSet<>();
+        List<StudentRow> accepted = new ArrayList<>();
+        for (StudentRow student : candidates) {
+            String key = normalize(student.email());
+            if (student.email().isEmpty()) {
+                errors.add("Row " + student.row().rowNumber() + ": email is required");
+            } else if (existing.contains(key)) {
+                errors.add("Row " + student.row().rowNumber() + " (" + student.email() + "): email already exists");
+            } else if (!seen.add(key)) {
+                errors.add("Row " + student.row().rowNumber() + " (" + student.email() + "): duplicate email in file");
+            } else {
+                accepted.add(student);
+            }
+        }
+
+        List<String> hashes = hashPasswords(accepted);
+
+        List<StudentRow> inserts = new ArrayList<>();
+        List<String> insertHashes = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            if (hashes.get(i) == null) {
+                errors.add("Row " + accepted.get(i).row().rowNumber() + ": could not hash password");
+            } else {
+                inserts.add(accepted.get(i));
+                insertHashes.add(hashes.get(i));
+            }
+        }
+
+        insertStudents(inserts, insertHashes);
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        logger.info("Imported {} of {} student rows in {} ms ({} rows/s, {} hashing threads on {} cores)",
+                inserts.size(), rows.size(), elapsedMillis, rows.size() * 1000L / elapsedMillis,
+                hashingThreads, Runtime.getRuntime().availableProcessors());
+
+        return new ImportChunkResult(inserts.size(), errors);
+    }
+
+    /**
+     * Hashes passwords on the hashing pool, keeping the input order. A failed
+     * hash yields {@code null} at its position so the row can be reported.
+     */
+    private List<String> hashPasswords(List<StudentRow> students) {
+        List<Future<String>> futures = new ArrayList<>(students.size());
+        for (StudentRow student : students) {
+            futures.add(hashingPool.submit(() -> passwordEncoder.encode(student.password())));
+        }
+
+        List<String> hashes = new ArrayList<>(students.size());
+        for (Future<String> future : futures) {
+            try {
+                hashes.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new RuntimeException("Import interrupted");
+            } catch (ExecutionException e) {
+                hashes.add(null);
+            }
+        }
+        return hashes;
+    }
+
+    private void insertStudents(List<StudentRow> students, List<String> hashes) {
+        if (students.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            positions.add(i);
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, positions, CHUNK_SIZE, (ps, i) -> {
+            StudentRow student = students.get(i);
+            ps.setString(1, student.name());
+            ps.setString(2, student.email());
+            ps.setString(3, hashes.get(i));
+            ps.setString(4, User.Role.STUDENT.name());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+
+        // JDBC batches do not return generated keys portably, so look the new ids up in one query
+        List<String> emails = students.stream().map(StudentRow::email).toList();
+        for (Long userId : userRepository.findIdsByEmailIn(emails)) {
+            eventPublisher.publishEvent(new UserChangedEvent(userId, User.Role.STUDENT, null,
+                    UserChangedEvent.Type.CREATED));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,147 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.TimetableResponse;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.event.CatalogChangedEvent;
+import com.training.backend_app.event.EnrollmentChangedEvent;
+import com.training.backend_app.event.ScheduleChangedEvent;
+import com.training.backend_app.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Materialized per-student timetables, bounded LRU. Entries are dropped after
+ * commit of any write that touches the student's enrollments or the schedule,
+ * modules or courses the student is enrolled in.
+ */
+@Component
+public class TimetableCache {
+
+    private record Entry(List<TimetableResponse> rows, Set<Long> courseIds) {
+    }
+
+    private final Map<Long, Entry> entries;
+
+    // Bumped on every invalidation so a load that raced with a write is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public TimetableCache(@Value("${timetable.cache.max-entries:5000}") int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    public List<TimetableResponse> get(Long studentId, Supplier<Set<Long>> courseIdsLoader,
+            Supplier<List<TimetableResponse>> rowsLoader) {
+        Entry entry = entries.get(studentId);
+        if (entry != null) {
+            hits.increment();
+            return entry.rows();
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        Set<Long> courseIds = Set.copyOf(courseIdsLoader.get());
+        List<TimetableResponse> rows = List.copyOf(rowsLoader.get());
+
+        synchronized (entries) {
+            if (generation.get() == loadedAt) {
+                entries.put(studentId, new Entry(rows, courseIds));
+            }
+        }
+        return rows;
+    }
+
+    public void invalidateStudent(Long studentId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            if (entries.remove(studentId) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void invalidateCourses(Collection<Long> courseIds) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> {
+                boolean affected = courseIds.stream().anyMatch(entry.courseIds()::contains);
+                if (affected) {
+                    invalidations.increment();
+                }
+                return affected;
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        invalidateStudent(event.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        invalidateCourses(event.courseIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.type()) {
+            case COURSE_UPDATED, COURSE_DELETED, MODULE_UPDATED, MODULE_DELETED ->
+                    invalidateCourses(Set.of(event.courseId()));
+            default -> {
+                // New courses and modules have no slots yet
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Trainer names are denormalized into every timetable row
+        if (event.role() == User.Role.TRAINER || event.previousRole() == User.Role.TRAINER) {
+            invalidateAll();
+        }
+    }
+}
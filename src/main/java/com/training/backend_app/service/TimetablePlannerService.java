@@ -0,0 +1,253 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.SlotResponse;
+import com.training.backend_app.dto.TimetablePlanRequest;
+import com.training.backend_app.dto.TimetablePlanResponse;
+import com.training.backend_app.entity.Course;
+import com.training.backend_app.entity.Module;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.entity.Week;
+import com.training.backend_app.event.ScheduleChangedEvent;
+import com.training.backend_app.planner.TimetableProblem;
+import com.training.backend_app.planner.TimetableSolution;
+import com.training.backend_app.planner.TimetableSolver;
+import com.training.backend_app.repository.CourseRepository;
+import com.training.backend_app.repository.ModuleRepository;
+import com.training.backend_app.repository.SlotRepository;
+import com.training.backend_app.repository.UserRepository;
+import com.training.backend_app.repository.WeekRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Generates slot plans for whole courses with {@link TimetableSolver}. Each
+ * module needs {@code ceil(duration / hoursPerSlot)} slots, taught in module
+ * order, by the module's assigned trainer, around the trainers' existing
+ * bookings. Courses must not have any slots yet: the plan covers all of a
+ * course's modules, so planning a scheduled course again would duplicate them.
+ * The search runs outside any transaction; applying a plan books it in the
+ * occupancy index and writes the slots in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimetablePlannerService {
+
+    private static final int DEFAULT_HOURS_PER_SLOT = 2;
+    private static final int DEFAULT_DAYS_PER_WEEK = 5;
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 2000;
+
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final WeekRepository weekRepository;
+    private final UserRepository userRepository;
+    private final TrainerOccupancyIndex occupancyIndex;
+    private final SlotRepository slotRepository;
+    private final SlotBatchWriter slotBatchWriter;
+    private final TimetableSolver solver;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * One slot unit of a module in the problem, in the order units are taught.
+     */
+    private record Unit(Course course, Module module, User trainer) {
+    }
+
+    public TimetablePlanResponse plan(TimetablePlanRequest request) {
+        long startedAt = System.currentTimeMillis();
+        int hoursPerSlot = request.getHoursPerSlot() != null ? request.getHoursPerSlot() : DEFAULT_HOURS_PER_SLOT;
+        int daysPerWeek = request.getDaysPerWeek() != null ? request.getDaysPerWeek() : DEFAULT_DAYS_PER_WEEK;
+        long timeBudget = request.getTimeBudgetMillis() != null ? request.getTimeBudgetMillis()
+                : DEFAULT_TIME_BUDGET_MILLIS;
+        int positionsPerWeek = daysPerWeek * TrainerOccupancyIndex.SLOTS_PER_DAY;
+
+        Map<Long, Course> courses = courseRepository.findAllById(request.getCourseIds()).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        for (Long courseId : request.getCourseIds()) {
+            if (!courses.containsKey(courseId)) {
+                throw new RuntimeException("Course not found: " + courseId);
+            }
+        }
+        rejectScheduledCourses(courses.keySet());
+
+        List<Week> weeks = (request.getWeekIds() == null || request.getWeekIds().isEmpty()
+                ? weekRepository.findAll()
+                : weekRepository.findAllById(request.getWeekIds())).stream()
+                .sorted(Comparator.comparing(Week::getWeekNumber))
+                .toList();
+        if (weeks.isEmpty()) {
+            throw new RuntimeException("No weeks available to plan into");
+        }
+
+        List<Module> modules = moduleRepository.findByCourseIdIn(courses.keySet()).stream()
+                .sorted(Comparator.comparing((Module module) -> module.getCourse().getId())
+                        .thenComparing(Module::getOrderNumber))
+                .toList();
+
+        Map<Long, Long> assignments = request.getTrainerAssignments() != null ? request.getTrainerAssignments()
+                : Map.of();
+        Map<Long, Long> moduleTrainerIds = new HashMap<>();
+        for (Module module : modules) {
+            Long trainerId = assignments.get(module.getId());
+            if (trainerId == null) {
+                Course course = courses.get(module.getCourse().getId());
+                trainerId = course.getPrimaryTrainer() != null ? course.getPrimaryTrainer().getId() : null;
+            }
+            if (trainerId == null) {
+                throw new RuntimeException("No trainer assigned to module " + module.getName());
+            }
+            moduleTrainerIds.put(module.getId(), trainerId);
+        }
+
+        Map<Long, User> trainers = userRepository.findAllById(new HashSet<>(moduleTrainerIds.values())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (Long trainerId : new HashSet<>(moduleTrainerIds.values())) {
+            User trainer = trainers.get(trainerId);
+            if (trainer == null) {
+                throw new RuntimeException("Trainer not found: " + trainerId);
+            }
+            if (trainer.getRole() != User.Role.TRAINER) {
+                throw new RuntimeException("User is not a trainer: " + trainerId);
+            }
+        }
+
+        // Trainers get dense indexes; their existing bookings block timeline positions
+        List<Long> trainerIds = new ArrayList<>(trainers.keySet());
+        Map<Long, Integer> trainerIndexes = new HashMap<>();
+        BitSet[] blocked = new BitSet[trainerIds.size()];
+        for (int index = 0; index < trainerIds.size(); index++) {
+            trainerIndexes.put(trainerIds.get(index), index);
+            blocked[index] = new BitSet(weeks.size() * positionsPerWeek);
+            for (int week = 0; week < weeks.size(); week++) {
+                int occupied = occupancyIndex.occupied(weeks.get(week).getId(), trainerIds.get(index));
+                for (int cell = 0; cell < positionsPerWeek; cell++) {
+                    if ((occupied & (1 << cell)) != 0) {
+                        blocked[index].set(week * positionsPerWeek + cell);
+                    }
+                }
+            }
+        }
+
+        List<Long> courseOrder = new ArrayList<>(new LinkedHashSet<>(request.getCourseIds()));
+        Map<Long, List<Unit>> unitsByCourse = new HashMap<>();
+        for (Module module : modules) {
+            Course course = courses.get(module.getCourse().getId());
+            User trainer = trainers.get(moduleTrainerIds.get(module.getId()));
+            int slots = Math.max(1, (module.getDuration() + hoursPerSlot - 1) / hoursPerSlot);
+            List<Unit> units = unitsByCourse.computeIfAbsent(course.getId(), id -> new ArrayList<>());
+            for (int i = 0; i < slots; i++) {
+                units.add(new Unit(course, module, trainer));
+            }
+        }
+
+        int[][] courseUnits = new int[courseOrder.size()][];
+        for (int course = 0; course < courseOrder.size(); course++) {
+            List<Unit> units = unitsByCourse.getOrDefault(courseOrder.get(course), List.of());
+            courseUnits[course] = units.stream()
+                    .mapToInt(unit -> trainerIndexes.get(unit.trainer().getId()))
+                    .toArray();
+        }
+
+        TimetableProblem problem = new TimetableProblem(weeks.size() * positionsPerWeek, courseUnits, blocked);
+        long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+        TimetableSolution solution = solver.solve(problem, timeBudget, seed);
+
+        List<SlotResponse> slots = new ArrayList<>();
+        List<SlotBatchWriter.SlotRow> rows = new ArrayList<>();
+        Set<Long> unscheduledModuleIds = new LinkedHashSet<>();
+        for (int course = 0; course < courseOrder.size(); course++) {
+            List<Unit> units = unitsByCourse.getOrDefault(courseOrder.get(course), List.of());
+            for (int i = 0; i < units.size(); i++) {
+                Unit unit = units.get(i);
+                int position = solution.unitTimes()[course][i];
+                if (position < 0) {
+                    unscheduledModuleIds.add(unit.module().getId());
+                    continue;
+                }
+
+                Week week = weeks.get(position / positionsPerWeek);
+                int cell = position % positionsPerWeek;
+                DayOfWeek dayOfWeek = DayOfWeek.of(cell / TrainerOccupancyIndex.SLOTS_PER_DAY + 1);
+                int slotNumber = cell % TrainerOccupancyIndex.SLOTS_PER_DAY + 1;
+
+                slots.add(SlotResponse.builder()
+                        .weekId(week.getId())
+                        .courseId(unit.course().getId())
+                        .courseName(unit.course().getName())
+                        .moduleId(unit.module().getId())
+                        .moduleName(unit.module().getName())
+                        .trainerId(unit.trainer().getId())
+                        .trainerName(unit.trainer().getName())
+                        .dayOfWeek(dayOfWeek.name())
+                        .slotNumber(slotNumber)
+                        .build());
+                rows.add(new SlotBatchWriter.SlotRow(week.getId(), unit.course().getId(), unit.module().getId(),
+                        unit.trainer().getId(), dayOfWeek, slotNumber, SlotTimes.startTime(slotNumber),
+                        SlotTimes.endTime(slotNumber)));
+            }
+        }
+
+        if (request.isApply()) {
+            apply(courses.keySet(), rows);
+        }
+
+        return TimetablePlanResponse.builder()
+                .slots(slots)
+                .unscheduledModuleIds(new ArrayList<>(unscheduledModuleIds))
+                .scheduledUnits(rows.size())
+                .unscheduledUnits(solution.unscheduled())
+                .gaps(solution.gaps())
+                .iterations(solution.iterations())
+                .workers(solution.workers())
+                .elapsedMillis(System.currentTimeMillis() - startedAt)
+                .applied(request.isApply())
+                .build();
+    }
+
+    /**
+     * Books and writes a plan. Bookings made since the plan was computed make
+     * the reservation fail and roll the whole plan back.
+     */
+    private void apply(Set<Long> courseIds, List<SlotBatchWriter.SlotRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Another plan for the same courses may have been applied since the check in plan()
+            courseRepository.findByIdIn(courseIds);
+            rejectScheduledCourses(courseIds);
+
+            for (SlotBatchWriter.SlotRow row : rows) {
+                occupancyIndex.reserve(row.weekId(), row.trainerId(), row.dayOfWeek(), row.slotNumber());
+            }
+            slotBatchWriter.insert(rows);
+
+            Set<Long> scheduledCourseIds = rows.stream()
+                    .map(SlotBatchWriter.SlotRow::courseId)
+                    .collect(Collectors.toSet());
+            if (!scheduledCourseIds.isEmpty()) {
+                eventPublisher.publishEvent(new ScheduleChangedEvent(scheduledCourseIds));
+            }
+        });
+    }
+
+    private void rejectScheduledCourses(Set<Long> courseIds) {
+        Set<Long> scheduled = slotRepository.findScheduledCourseIds(courseIds);
+        if (!scheduled.isEmpty()) {
+            throw new RuntimeException("Courses already have slots, clear them before planning: "
+                    + scheduled.stream().sorted().toList());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.FreeSlotResponse;
+import com.training.backend_app.dto.FreeTrainerResponse;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.entity.Week;
+import com.training.backend_app.event.UserChangedEvent;
+import com.training.backend_app.event.WeekCreatedEvent;
+import com.training.backend_app.repository.UserRepository;
+import com.training.backend_app.repository.WeekRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Answers "who is free" and "when is a trainer free" from memory: trainer
+ * bookings come from {@link TrainerOccupancyIndex}, and the trainer roster and
+ * week calendar are loaded at startup and kept current from user and week
+ * events. No query touches the slots table.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrainerAvailabilityService {
+
+    private final TrainerOccupancyIndex occupancyIndex;
+    private final UserRepository userRepository;
+    private final WeekRepository weekRepository;
+
+    // trainerId -> name
+    private final Map<Long, String> trainers = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> weekNumbers = new ConcurrentHashMap<>();
+    // Week numbers are not unique, e.g. the same number in another course or year
+    private final NavigableMap<Integer, Set<Long>> weekIdsByNumber = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    void load() {
+        for (User trainer : userRepository.findByRole(User.Role.TRAINER)) {
+            trainers.put(trainer.getId(), trainer.getName());
+        }
+        for (Week week : weekRepository.findAll()) {
+            addWeek(week.getId(), week.getWeekNumber());
+        }
+    }
+
+    public List<FreeTrainerResponse> getFreeTrainers(Long weekId, String dayOfWeek, int slotNumber) {
+        if (!weekNumbers.containsKey(weekId)) {
+            throw new RuntimeException("Week not found");
+        }
+        int bit = TrainerOccupancyIndex.bit(parseDay(dayOfWeek), slotNumber);
+
+        List<FreeTrainerResponse> free = new ArrayList<>();
+        for (Map.Entry<Long, String> trainer : trainers.entrySet()) {
+            if ((occupancyIndex.occupied(weekId, trainer.getKey()) & bit) == 0) {
+                free.add(FreeTrainerResponse.builder()
+                        .trainerId(trainer.getKey())
+                        .trainerName(trainer.getValue())
+                        .build());
+            }
+        }
+        free.sort(Comparator.comparing(FreeTrainerResponse::getTrainerName,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return free;
+    }
+
+    /**
+     * Free cells of a trainer in the weeks numbered {@code fromWeek..toWeek},
+     * in chronological order; weeks sharing a number are listed by id.
+     */
+    public List<FreeSlotResponse> getFreeSlots(Long trainerId, int fromWeek, int toWeek) {
+        if (!trainers.containsKey(trainerId)) {
+            throw new RuntimeException("Trainer not found");
+        }
+        if (fromWeek > toWeek) {
+            throw new RuntimeException("fromWeek must not be after toWeek");
+        }
+
+        List<FreeSlotResponse> free = new ArrayList<>();
+        for (Map.Entry<Integer, Set<Long>> week : weekIdsByNumber.subMap(fromWeek, true, toWeek, true).entrySet()) {
+            for (Long weekId : week.getValue()) {
+                int occupied = occupancyIndex.occupied(weekId, trainerId);
+                for (int cell = 0; cell < TrainerOccupancyIndex.SLOTS_PER_WEEK; cell++) {
+                    if ((occupied & (1 << cell)) == 0) {
+                        free.add(FreeSlotResponse.builder()
+                                .weekId(weekId)
+                                .weekNumber(week.getKey())
+                                .dayOfWeek(DayOfWeek.of(cell / TrainerOccupancyIndex.SLOTS_PER_DAY + 1).name())
+                                .slotNumber(cell % TrainerOccupancyIndex.SLOTS_PER_DAY + 1)
+                                .build());
+                    }
+                }
+            }
+        }
+        return free;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == UserChangedEvent.Type.DELETED) {
+            trainers.remove(event.userId());
+            return;
+        }
+        if (event.role() != User.Role.TRAINER && event.previousRole() != User.Role.TRAINER) {
+            return;
+        }
+
+        // Names are not carried by the event; reload the one user
+        userRepository.findById(event.userId()).ifPresentOrElse(user -> {
+            if (user.getRole() == User.Role.TRAINER) {
+                trainers.put(user.getId(), user.getName());
+            } else {
+                trainers.remove(user.getId());
+            }
+        }, () -> trainers.remove(event.userId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeekCreated(WeekCreatedEvent event) {
+        addWeek(event.weekId(), event.weekNumber());
+    }
+
+    private void addWeek(Long weekId, Integer weekNumber) {
+        if (weekNumber == null) {
+            return;
+        }
+        weekNumbers.put(weekId, weekNumber);
+        weekIdsByNumber.computeIfAbsent(weekNumber, number -> new ConcurrentSkipListSet<>()).add(weekId);
+    }
+
+    private static DayOfWeek parseDay(String dayOfWeek) {
+        try {
+            return DayOfWeek.valueOf(dayOfWeek.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid day of week " + dayOfWeek);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.entity.User;
+import com.training.backend_app.event.UserChangedEvent;
+import com.training.backend_app.repository.SlotBookingView;
+import com.training.backend_app.repository.SlotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trainer occupancy: for every (week, trainer) an int bitset of the
+ * 7 days x 4 slots, bit {@code (day - 1) * 4 + (slot - 1)}. Loaded from the
+ * slots table at startup and kept in step with slot writes:
+ * <ul>
+ * <li>{@link #reserve} sets the bit immediately, so concurrent writers see it,
+ * and clears it again if the surrounding transaction rolls back;</li>
+ * <li>{@link #release} clears the bit only once the transaction commits.</li>
+ * </ul>
+ * The index is per application instance; it assumes slot writes go through
+ * this instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrainerOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainerOccupancyIndex.class);
+
+    public static final int SLOTS_PER_DAY = 4;
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int SLOTS_PER_WEEK = SLOTS_PER_DAY * DAYS_PER_WEEK;
+
+    private final SlotRepository slotRepository;
+
+    // weekId -> trainerId -> occupied slots
+    private final Map<Long, Map<Long, Integer>> occupancy = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        List<SlotBookingView> bookings = slotRepository.findAllTrainerBookings();
+        for (SlotBookingView booking : bookings) {
+            if (booking.getDayOfWeek() == null || booking.getSlotNumber() == null
+                    || booking.getSlotNumber() < 1 || booking.getSlotNumber() > SLOTS_PER_DAY) {
+                continue;
+            }
+            int bit = bit(booking.getDayOfWeek(), booking.getSlotNumber());
+            weekOf(booking.getWeekId()).merge(booking.getTrainerId(), bit, (a, b) -> a | b);
+        }
+        logger.info("Trainer occupancy index loaded with {} bookings", bookings.size());
+    }
+
+    /**
+     * Bit of a (day, slot) cell within a week bitset.
+     */
+    public static int bit(DayOfWeek dayOfWeek, int slotNumber) {
+        if (slotNumber < 1 || slotNumber > SLOTS_PER_DAY) {
+            throw new RuntimeException("Slot number must be between 1 and " + SLOTS_PER_DAY);
+        }
+        return 1 << ((dayOfWeek.getValue() - 1) * SLOTS_PER_DAY + (slotNumber - 1));
+    }
+
+    public boolean isBooked(Long weekId, Long trainerId, DayOfWeek dayOfWeek, int slotNumber) {
+        return (occupied(weekId, trainerId) & bit(dayOfWeek, slotNumber)) != 0;
+    }
+
+    /**
+     * Occupied slots of a trainer in a week as a bitset.
+     */
+    public int occupied(Long weekId, Long trainerId) {
+        Map<Long, Integer> week = occupancy.get(weekId);
+        if (week == null) {
+            return 0;
+        }
+        return week.getOrDefault(trainerId, 0);
+    }
+
+    /**
+     * Books a cell for a trainer, failing if it is already taken. The booking is
+     * undone if the current transaction rolls back.
+     */
+    public void reserve(Long weekId, Long trainerId, DayOfWeek dayOfWeek, int slotNumber) {
+        int bit = bit(dayOfWeek, slotNumber);
+        boolean[] conflict = new boolean[1];
+        weekOf(weekId).compute(trainerId, (id, bits) -> {
+            int current = bits != null ? bits : 0;
+            if ((current & bit) != 0) {
+                conflict[0] = true;
+                return bits;
+            }
+            return current | bit;
+        });
+
+        if (conflict[0]) {
+            throw new RuntimeException("Trainer is already booked for this slot");
+        }
+
+        afterCompletion(false, () -> clear(weekId, trainerId, bit));
+    }
+
+    /**
+     * Frees a cell once the current transaction commits.
+     */
+    public void release(Long weekId, Long trainerId, DayOfWeek dayOfWeek, int slotNumber) {
+        if (weekId == null || trainerId == null || dayOfWeek == null
+                || slotNumber < 1 || slotNumber > SLOTS_PER_DAY) {
+            return;
+        }
+        int bit = bit(dayOfWeek, slotNumber);
+        afterCompletion(true, () -> clear(weekId, trainerId, bit));
+    }
+
+    /**
+     * Replaces all bookings of a week with {@code bookings} (trainerId to bitset).
+     * Newly booked cells are set now and undone on rollback; cells no longer
+     * booked are freed after commit.
+     */
+    public void replaceWeek(Long weekId, Map<Long, Integer> bookings) {
+        Map<Long, Integer> week = weekOf(weekId);
+        Set<Long> trainerIds = new HashSet<>(week.keySet());
+        trainerIds.addAll(bookings.keySet());
+
+        for (Long trainerId : trainerIds) {
+            int target = bookings.getOrDefault(trainerId, 0);
+            int[] added = new int[1];
+            int[] removed = new int[1];
+            week.compute(trainerId, (id, bits) -> {
+                int current = bits != null ? bits : 0;
+                added[0] = target & ~current;
+                removed[0] = current & ~target;
+                int next = current | added[0];
+                return next == 0 ? null : next;
+            });
+
+            if (added[0] != 0) {
+                int bits = added[0];
+                afterCompletion(false, () -> clear(weekId, trainerId, bits));
+            }
+            if (removed[0] != 0) {
+                int bits = removed[0];
+                afterCompletion(true, () -> clear(weekId, trainerId, bits));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == UserChangedEvent.Type.DELETED && event.role() == User.Role.TRAINER) {
+            occupancy.values().forEach(week -> week.remove(event.userId()));
+        }
+    }
+
+    private Map<Long, Integer> weekOf(Long weekId) {
+        return occupancy.computeIfAbsent(weekId, id -> new ConcurrentHashMap<>());
+    }
+
+    private void clear(Long weekId, Long trainerId, int bit) {
+        Map<Long, Integer> week = occupancy.get(weekId);
+        if (week != null) {
+            week.computeIfPresent(trainerId, (id, bits) -> (bits & ~bit) == 0 ? null : bits & ~bit);
+        }
+    }
+
+    /**
+     * Runs the action after commit ({@code onCommit}) or after rollback, or
+     * right away for a commit action when no transaction is active.
+     */
+    private void afterCompletion(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == onCommit) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
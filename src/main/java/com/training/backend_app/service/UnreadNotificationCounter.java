@@ -0,0 +1,142 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.entity.BroadcastReadMarker;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.repository.BroadcastNotificationRepository;
+import com.training.backend_app.repository.BroadcastReadMarkerRepository;
+import com.training.backend_app.repository.NotificationRepository;
+import com.training.backend_app.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread notification counts per user, personal and broadcast combined,
+ * bounded LRU. A count is seeded with two COUNT queries on first use and then
+ * moved by deliveries; any read change drops it so the next call reseeds.
+ * Updated by {@link NotificationPushService}.
+ * <p>
+ * A seed is only stored when no delivery committed while it was counting:
+ * otherwise it could already include the new rows and then be moved by them a
+ * second time after the commit.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    // Lower bound for users without a creation time, as in NotificationService
+    private static final LocalDateTime BROADCASTS_SINCE_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private record Entry(User.Role role, AtomicInteger unread) {
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final BroadcastReadMarkerRepository readMarkerRepository;
+    private final UserRepository userRepository;
+
+    private final Map<Long, Entry> counters;
+
+    // Bumped on every change so a seed that raced with a delivery is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    // Transactions adding notifications that are committing and not yet reflected in the counts
+    private final AtomicInteger pendingCommits = new AtomicInteger();
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     BroadcastNotificationRepository broadcastRepository,
+                                     BroadcastReadMarkerRepository readMarkerRepository,
+                                     UserRepository userRepository,
+                                     @Value("${notifications.counter.max-entries:50000}") int maxEntries) {
+        this.notificationRepository = notificationRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.readMarkerRepository = readMarkerRepository;
+        this.userRepository = userRepository;
+        this.counters = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public int getUnread(Long userId) {
+        Entry entry = counters.get(userId);
+        if (entry != null) {
+            return entry.unread().get();
+        }
+
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            return 0;
+        }
+
+        long seededAt = generation.get();
+        boolean quiet = pendingCommits.get() == 0;
+        long watermark = readMarkerRepository.findById(userId)
+                .map(BroadcastReadMarker::getLastReadId)
+                .orElse(0L);
+        LocalDateTime since = user.getCreatedAt() != null ? user.getCreatedAt() : BROADCASTS_SINCE_EPOCH;
+        int unread = (int) (notificationRepository.countByUserIdAndReadFalse(userId)
+                + broadcastRepository.countByTargetRoleAndIdGreaterThanAndCreatedAtGreaterThanEqual(
+                        user.getRole(), watermark, since));
+
+        synchronized (counters) {
+            if (quiet && generation.get() == seededAt) {
+                counters.put(userId, new Entry(user.getRole(), new AtomicInteger(unread)));
+            }
+        }
+        return unread;
+    }
+
+    /**
+     * Called before a transaction that adds unread notifications commits. Seeds
+     * are not stored from then until the transaction has completed, by which time
+     * its after-commit count updates have been applied.
+     */
+    void beforeAddCommits() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation.incrementAndGet();
+            return;
+        }
+        // Raised before the generation, so a seed that saw the new generation also sees this
+        pendingCommits.incrementAndGet();
+        generation.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                generation.incrementAndGet();
+                pendingCommits.decrementAndGet();
+            }
+        });
+    }
+
+    void addPersonal(Long userId, int count) {
+        generation.incrementAndGet();
+        Entry entry = counters.get(userId);
+        if (entry != null) {
+            entry.unread().addAndGet(count);
+        }
+    }
+
+    void addBroadcast(User.Role role) {
+        generation.incrementAndGet();
+        synchronized (counters) {
+            counters.values().stream()
+                    .filter(entry -> entry.role() == role)
+                    .forEach(entry -> entry.unread().incrementAndGet());
+        }
+    }
+
+    void invalidate(Long userId) {
+        generation.incrementAndGet();
+        counters.remove(userId);
+    }
+}
@@ -1,90 +1,118 @@
 package com.training.backend_app.service;
 
-import com.training.backend_app.dto.BulkUploadResponse;
+import com.training.backend_app.dto.UserDirectoryPageResponse;
+import com.training.backend_app.dto.UserSummaryResponse;
 import com.training.backend_app.entity.User;
+import com.training.backend_app.repository.UserDirectoryView;
 import com.training.backend_app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-
-    @Transactional
-    public BulkUploadResponse bulkUploadStudents(MultipartFile file) {
-        int totalRecords = 0;
-        int successfulRecords = 0;
-        int failedRecords = 0;
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            boolean isHeader = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (isHeader) {
-                    isHeader = false;
-                    continue; // Skip header line
-                }
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SUMMARY_PAGE_SIZE = 1000;
+    // Prefix matches are read in full and sorted by id, so a prefix must be selective
+    private static final int MIN_PREFIX_LENGTH = 3;
 
-                totalRecords++;
-
-                try {
-                    String[] data = line.split(",");
-                    if (data.length < 3) {
-                        failedRecords++;
-                        continue;
-                    }
+    private final UserRepository userRepository;
 
-                    String name = data[0].trim();
-                    String email = data[1].trim();
-                    String password = data[2].trim();
+    /**
+     * All users, or all users of a role, without password hashes or bios.
+     * Oldest first, at most 1,000 per call, for the legacy list endpoints;
+     * prefer {@link #getDirectoryPage}.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first one
+     */
+    public UserDirectoryPageResponse getUserSummaries(User.Role role, String cursor, Integer limit) {
+        int size = limit != null ? Math.min(Math.max(limit, 1), MAX_SUMMARY_PAGE_SIZE) : MAX_SUMMARY_PAGE_SIZE;
+        long afterId = cursor != null && !cursor.isBlank() ? parseCursor(cursor) : 0L;
+
+        List<UserDirectoryView> rows = role != null
+                ? userRepository.findViewsByRoleAndIdGreaterThanOrderByIdAsc(role, afterId, Limit.of(size + 1))
+                : userRepository.findViewsByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+        List<UserDirectoryView> page = hasMore ? rows.subList(0, size) : rows;
+
+        return UserDirectoryPageResponse.builder()
+                .items(page.stream()
+                        .map(this::mapToSummary)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null)
+                .build();
+    }
 
-                    // Check if email already exists
-                    if (userRepository.existsByEmail(email)) {
-                        failedRecords++;
-                        continue;
-                    }
+    /**
+     * One page of the user directory, newest first, keyed by id so a page
+     * costs the same however deep it is.
+     *
+     * @param query       name or email prefix, at least three characters
+     * @param createdFrom first creation day to include, yyyy-MM-dd
+     * @param createdTo   last creation day to include, yyyy-MM-dd
+     * @param cursor      id of the last user of the previous page
+     */
+    public UserDirectoryPageResponse getDirectoryPage(String role, String query, String createdFrom,
+            String createdTo, String cursor, Integer limit) {
+        int size = limit != null ? Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        User.Role roleFilter = role != null && !role.isBlank() ? User.Role.valueOf(role.toUpperCase()) : null;
+        String prefix = null;
+        if (query != null && !query.isBlank()) {
+            if (query.trim().length() < MIN_PREFIX_LENGTH) {
+                throw new RuntimeException("Search needs at least " + MIN_PREFIX_LENGTH + " characters");
+            }
+            prefix = likePrefix(query.trim());
+        }
+        LocalDateTime from = createdFrom != null ? LocalDate.parse(createdFrom).atStartOfDay() : null;
+        LocalDateTime before = createdTo != null ? LocalDate.parse(createdTo).plusDays(1).atStartOfDay() : null;
 
-                    User student = User.builder()
-                            .name(name)
-                            .email(email)
-                            .password(passwordEncoder.encode(password))
-                            .role(User.Role.STUDENT)
-                            .build();
+        Long beforeId = cursor != null && !cursor.isBlank() ? parseCursor(cursor) : null;
 
-                    userRepository.save(student);
-                    successfulRecords++;
+        List<UserDirectoryView> rows = userRepository.findDirectoryPage(roleFilter, prefix, from, before, beforeId,
+                size + 1);
+        boolean hasMore = rows.size() > size;
+        List<UserDirectoryView> page = hasMore ? rows.subList(0, size) : rows;
 
-                } catch (Exception e) {
-                    failedRecords++;
-                }
-            }
+        return UserDirectoryPageResponse.builder()
+                .items(page.stream()
+                        .map(this::mapToSummary)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null)
+                .build();
+    }
 
-        } catch (Exception e) {
-            return BulkUploadResponse.builder()
-                    .totalRecords(0)
-                    .successfulRecords(0)
-                    .failedRecords(0)
-                    .message("Error reading file: " + e.getMessage())
-                    .build();
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor");
         }
+    }
+
+    // Escapes LIKE wildcards with '!' so the query matches as a plain prefix
+    private static String likePrefix(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
 
-        return BulkUploadResponse.builder()
-                .totalRecords(totalRecords)
-                .successfulRecords(successfulRecords)
-                .failedRecords(failedRecords)
-                .message("Bulk upload completed. " + successfulRecords + " students uploaded successfully.")
+    private UserSummaryResponse mapToSummary(UserDirectoryView view) {
+        return UserSummaryResponse.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .email(view.getEmail())
+                .role(view.getRole())
+                .phone(view.getPhone())
+                .specialization(view.getSpecialization())
+                .experience(view.getExperience())
+                .qualification(view.getQualification())
+                .createdAt(view.getCreatedAt())
                 .build();
     }
 }
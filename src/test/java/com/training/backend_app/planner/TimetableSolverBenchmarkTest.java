@@ -0,0 +1,115 @@
+package com.training.backend_app.planner;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the solver on synthetic institutes of 50, 500 and 5,000
+ * modules: eight modules of 2 to 8 hours per course, one trainer per three
+ * courses with a tenth of their time already booked, two-hour slots on five
+ * days a week and enough weeks for about two thirds utilization. Every plan is
+ * checked against the hard constraints and the figures are logged.
+ */
+class TimetableSolverBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimetableSolverBenchmarkTest.class);
+
+    private static final int MODULES_PER_COURSE = 8;
+    private static final int HOURS_PER_SLOT = 2;
+    private static final int POSITIONS_PER_WEEK = 5 * 4;
+    private static final long TIME_BUDGET_MILLIS = 1000;
+
+    private static TimetableSolver solver;
+
+    @BeforeAll
+    static void startSolver() {
+        solver = new TimetableSolver(0);
+    }
+
+    @AfterAll
+    static void stopSolver() {
+        solver.shutdown();
+    }
+
+    @ParameterizedTest(name = "{0} modules")
+    @ValueSource(ints = { 50, 500, 5000 })
+    void solvesSyntheticInstitute(int modules) {
+        Random random = new Random(modules);
+        int courses = Math.max(1, modules / MODULES_PER_COURSE);
+        int trainers = Math.max(2, courses / 3);
+
+        int[][] courseUnits = new int[courses][];
+        int totalUnits = 0;
+        for (int course = 0; course < courses; course++) {
+            int trainer = random.nextInt(trainers);
+            int units = 0;
+            int[] moduleUnits = new int[MODULES_PER_COURSE];
+            for (int module = 0; module < MODULES_PER_COURSE; module++) {
+                int hours = 2 + random.nextInt(7);
+                moduleUnits[module] = (hours + HOURS_PER_SLOT - 1) / HOURS_PER_SLOT;
+                units += moduleUnits[module];
+            }
+            courseUnits[course] = new int[units];
+            Arrays.fill(courseUnits[course], trainer);
+            totalUnits += units;
+        }
+
+        int[] load = new int[trainers];
+        for (int[] units : courseUnits) {
+            load[units[0]] += units.length;
+        }
+        int busiest = Arrays.stream(load).max().orElse(0);
+        int weeks = Math.max(4, (int) Math.ceil(busiest * 1.5 / (POSITIONS_PER_WEEK * 0.9)));
+        int horizon = weeks * POSITIONS_PER_WEEK;
+
+        BitSet[] blocked = new BitSet[trainers];
+        for (int trainer = 0; trainer < trainers; trainer++) {
+            blocked[trainer] = new BitSet(horizon);
+            for (int position = 0; position < horizon; position++) {
+                if (random.nextInt(10) == 0) {
+                    blocked[trainer].set(position);
+                }
+            }
+        }
+
+        long startedAt = System.currentTimeMillis();
+        TimetableSolution solution = solver.solve(new TimetableProblem(horizon, courseUnits, blocked),
+                TIME_BUDGET_MILLIS, 42);
+        long elapsed = System.currentTimeMillis() - startedAt;
+
+        logger.info("{} modules, {} units, {} trainers, {} weeks: {} unscheduled, {} gaps, "
+                        + "{} iterations on {} workers in {} ms",
+                modules, totalUnits, trainers, weeks, solution.unscheduled(), solution.gaps(),
+                solution.iterations(), solution.workers(), elapsed);
+
+        Set<Long> trainerPositions = new HashSet<>();
+        for (int course = 0; course < courses; course++) {
+            int previous = -1;
+            for (int unit = 0; unit < courseUnits[course].length; unit++) {
+                int position = solution.unitTimes()[course][unit];
+                if (position < 0) {
+                    continue;
+                }
+                int trainer = courseUnits[course][unit];
+                assertThat(position).as("module order").isGreaterThan(previous);
+                assertThat(blocked[trainer].get(position)).as("existing booking").isFalse();
+                assertThat(trainerPositions.add(((long) trainer << 32) | position)).as("trainer double-booked")
+                        .isTrue();
+                previous = position;
+            }
+        }
+        assertThat(solution.unscheduled()).isZero();
+    }
+}
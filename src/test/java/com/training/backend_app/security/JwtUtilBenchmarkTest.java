@@ -0,0 +1,150 @@
+package com.training.backend_app.security;
+
+import com.training.backend_app.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Token handling per authenticated request, before and after the
+ * verified-token cache. "Before" replays the old filter path: username
+ * extraction plus validation, three signature checks, each with a freshly
+ * built key and parser. "After" is one {@link JwtUtil#verifyToken} call,
+ * cold (first request with a token) and warm (later requests). The timing
+ * run is tagged {@code benchmark} and only runs with {@code -Pbenchmark}.
+ */
+class JwtUtilBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtilBenchmarkTest.class);
+
+    private static final String SECRET = "traininginstitutesecretkeywhichisverylongandsecure123456789";
+    private static final int TOKENS = 1000;
+    private static final int ROUNDS = 20;
+
+    private JwtUtil jwtUtil;
+    private List<String> tokens;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(TOKENS * 2);
+        tokens = new ArrayList<>(TOKENS);
+        for (long id = 1; id <= TOKENS; id++) {
+            User user = User.builder()
+                    .id(id)
+                    .email("user" + id + "@example.com")
+                    .role(User.Role.STUDENT)
+                    .build();
+            tokens.add(jwtUtil.generateToken(new CustomUserDetails(user)));
+        }
+    }
+
+    @Test
+    void cachedVerificationMatchesFullParse() {
+        for (String token : tokens) {
+            Claims claims = jwtUtil.verifyToken(token);
+            Claims parsed = legacyParse(token);
+            assertThat(claims.getSubject()).isEqualTo(parsed.getSubject());
+            assertThat(claims.get(JwtUtil.CLAIM_USER_ID)).isEqualTo(parsed.get(JwtUtil.CLAIM_USER_ID));
+            assertThat(jwtUtil.verifyToken(token)).isSameAs(claims);
+            assertThat(jwtUtil.validateToken(claims, jwtUtil.buildUserDetails(claims))).isTrue();
+        }
+    }
+
+    @Test
+    void cacheStaysBoundedAndDropsExpiredTokens() {
+        int maxEntries = 10;
+        JwtUtil util = newJwtUtil(maxEntries);
+        Map<String, Claims> cache = verifiedTokens(util);
+
+        for (String token : tokens) {
+            assertThat(util.verifyToken(token).getSubject()).isNotNull();
+        }
+        assertThat(cache).hasSize(maxEntries);
+
+        cache.clear();
+        Date past = new Date(System.currentTimeMillis() - 1000);
+        for (int i = 0; i < maxEntries; i++) {
+            cache.put("expired-" + i, Jwts.claims().setExpiration(past));
+        }
+        util.verifyToken(tokens.get(0));
+        assertThat(cache).hasSize(1);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void filterOverheadPerRequest() {
+        // Warm up both paths so the JIT has compiled them
+        runLegacy();
+        runCached(newJwtUtil(TOKENS * 2));
+
+        long legacyNanos = 0;
+        long coldNanos = 0;
+        long warmNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            legacyNanos += runLegacy();
+            JwtUtil fresh = newJwtUtil(TOKENS * 2);
+            coldNanos += runCached(fresh);
+            warmNanos += runCached(fresh);
+        }
+
+        long requests = (long) ROUNDS * TOKENS;
+        logger.info("JWT filter overhead per request over {} requests: before {} ns, "
+                        + "after {} ns (first use of a token), {} ns (cached)",
+                requests, legacyNanos / requests, coldNanos / requests, warmNanos / requests);
+    }
+
+    private long runLegacy() {
+        long startedAt = System.nanoTime();
+        for (String token : tokens) {
+            String username = legacyParse(token).getSubject();
+            Claims validated = legacyParse(token);
+            boolean valid = username.equals(validated.getSubject()) && legacyParse(token).getExpiration() != null;
+            assertThat(valid).isTrue();
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private long runCached(JwtUtil util) {
+        long startedAt = System.nanoTime();
+        for (String token : tokens) {
+            Claims claims = util.verifyToken(token);
+            assertThat(util.validateToken(claims, util.buildUserDetails(claims))).isTrue();
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Claims> verifiedTokens(JwtUtil util) {
+        return (Map<String, Claims>) ReflectionTestUtils.getField(util, "verifiedTokens");
+    }
+
+    private static JwtUtil newJwtUtil(int cacheMaxEntries) {
+        JwtUtil util = new JwtUtil(new TokenVersionRegistry());
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(util, "cacheMaxEntries", cacheMaxEntries);
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,130 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.CourseResponse;
+import com.training.backend_app.entity.Course;
+import com.training.backend_app.entity.Module;
+import com.training.backend_app.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalog reads must cost the same number of statements whatever the number
+ * of courses, modules and trainers.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ CourseService.class, TrainerOccupancyIndex.class, CourseServiceQueryCountTest.EncoderConfig.class })
+class CourseServiceQueryCountTest {
+
+    private static final int COURSES = 5;
+    private static final int MODULES_PER_COURSE = 3;
+
+    // The application's startup runner needs an encoder; security is not part of the slice
+    @TestConfiguration
+    static class EncoderConfig {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseService courseService;
+
+    private Statistics statistics;
+    private int created;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void courseListingStatementsDoNotGrowWithCourses() {
+        createCourses(COURSES);
+        long small = statementsFor(() -> assertThat(courseService.getAllCourses()).hasSize(COURSES));
+
+        createCourses(COURSES * 9);
+        long large = statementsFor(() -> {
+            List<CourseResponse> courses = courseService.getAllCourses();
+            assertThat(courses).hasSize(COURSES * 10);
+            assertThat(courses).allSatisfy(course -> assertThat(course.getModules()).hasSize(MODULES_PER_COURSE));
+        });
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void coursePageStatementsDoNotGrowWithCourses() {
+        // Full pages in both runs, so both include the count query
+        createCourses(COURSES);
+        long small = statementsFor(() -> assertThat(courseService.getCoursePage(0, COURSES)).hasSize(COURSES));
+
+        createCourses(COURSES * 9);
+        long large = statementsFor(() -> {
+            Page<CourseResponse> page = courseService.getCoursePage(0, COURSES * 10);
+            assertThat(page).hasSize(COURSES * 10);
+            assertThat(page.getTotalElements()).isEqualTo(COURSES * 10);
+        });
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long statementsFor(Runnable read) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createCourses(int count) {
+        for (int i = 0; i < count; i++) {
+            int number = ++created;
+            User trainer = entityManager.persist(User.builder()
+                    .name("Trainer " + number)
+                    .email("trainer" + number + "@example.com")
+                    .password("hash")
+                    .role(User.Role.TRAINER)
+                    .build());
+            Course course = entityManager.persist(Course.builder()
+                    .name("Course " + number)
+                    .duration(MODULES_PER_COURSE * 2)
+                    .primaryTrainer(trainer)
+                    .build());
+            for (int m = 1; m <= MODULES_PER_COURSE; m++) {
+                entityManager.persist(Module.builder()
+                        .name("Module " + number + "-" + m)
+                        .course(course)
+                        .orderNumber(m)
+                        .duration(2)
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.dto.SlotResponse;
+import com.training.backend_app.entity.Course;
+import com.training.backend_app.entity.Module;
+import com.training.backend_app.entity.Slot;
+import com.training.backend_app.entity.User;
+import com.training.backend_app.entity.Week;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Slot listings must stay a single joined query, however many slots they
+ * return and whatever the filters.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ SchedulingService.class, TrainerOccupancyIndex.class, SlotBatchWriter.class,
+        SchedulingServiceQueryCountTest.EncoderConfig.class })
+class SchedulingServiceQueryCountTest {
+
+    // The application's startup runner needs an encoder; security is not part of the slice
+    @TestConfiguration
+    static class EncoderConfig {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    private static final int WEEKS = 3;
+    private static final int COURSES = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    private Statistics statistics;
+    private Long firstWeekId;
+    private Long trainerId;
+    private Long courseId;
+
+    @BeforeEach
+    void createTimetable() {
+        User trainer = entityManager.persist(User.builder()
+                .name("Trainer")
+                .email("trainer@example.com")
+                .password("hash")
+                .role(User.Role.TRAINER)
+                .build());
+        trainerId = trainer.getId();
+
+        for (int w = 1; w <= WEEKS; w++) {
+            Week week = entityManager.persist(Week.builder().name("Week " + w).weekNumber(w).build());
+            if (firstWeekId == null) {
+                firstWeekId = week.getId();
+            }
+            for (int c = 0; c < COURSES; c++) {
+                Course course = entityManager.persist(Course.builder()
+                        .name("Course " + w + "-" + c)
+                        .duration(8)
+                        .build());
+                if (courseId == null) {
+                    courseId = course.getId();
+                }
+                Module module = entityManager.persist(Module.builder()
+                        .name("Module " + w + "-" + c)
+                        .course(course)
+                        .orderNumber(1)
+                        .duration(2)
+                        .build());
+                DayOfWeek day = DayOfWeek.of(c % 5 + 1);
+                entityManager.persist(Slot.builder()
+                        .week(week)
+                        .course(course)
+                        .module(module)
+                        .trainer(trainer)
+                        .dayOfWeek(day)
+                        .slotNumber(c % 4 + 1)
+                        .startTime(SlotTimes.startTime(c % 4 + 1))
+                        .endTime(SlotTimes.endTime(c % 4 + 1))
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void weekListingIsOneQuery() {
+        List<SlotResponse> slots = schedulingService.getSlotsByWeekId(firstWeekId);
+
+        assertThat(slots).hasSize(COURSES);
+        assertThat(slots).allSatisfy(slot -> {
+            assertThat(slot.getCourseName()).startsWith("Course ");
+            assertThat(slot.getModuleName()).startsWith("Module ");
+            assertThat(slot.getTrainerName()).isEqualTo("Trainer");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void trainerListingIsOneQuery() {
+        List<SlotResponse> slots = schedulingService.getSlotsByTrainerId(trainerId);
+
+        assertThat(slots).hasSize(WEEKS * COURSES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filteredListingIsOneQuery() {
+        List<SlotResponse> slots = schedulingService.getSlots(null, trainerId, courseId, "MONDAY", 1, 2);
+
+        assertThat(slots).hasSize(1);
+        assertThat(slots.get(0).getCourseId()).isEqualTo(courseId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
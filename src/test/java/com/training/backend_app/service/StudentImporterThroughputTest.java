@@ -0,0 +1,61 @@
+package com.training.backend_app.service;
+
+import com.training.backend_app.ingest.ImportChunkResult;
+import com.training.backend_app.ingest.ImportRow;
+import com.training.backend_app.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Student import throughput per hashing thread count, with the production
+ * BCrypt strength. The database is mocked so the figures show the hashing
+ * stage, which dominates an import; they only scale with threads up to the
+ * number of cores. The figures come from StudentImporter's own log line
+ * for each chunk.
+ */
+class StudentImporterThroughputTest {
+
+    private static final int ROWS = 32;
+
+    @Test
+    void throughputPerThreadCount() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        Set<Integer> threadCounts = new TreeSet<>(List.of(1, 2, 4, cores));
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        passwordEncoder.encode("warm-up");
+
+        for (int threads : threadCounts) {
+            UserRepository userRepository = mock(UserRepository.class);
+            when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+            when(userRepository.findIdsByEmailIn(anyCollection())).thenReturn(List.of());
+            StudentImporter importer = new StudentImporter(userRepository, passwordEncoder,
+                    mock(JdbcTemplate.class), mock(ApplicationEventPublisher.class), threads);
+            try {
+                List<ImportRow> rows = new ArrayList<>(ROWS);
+                for (int i = 0; i < ROWS; i++) {
+                    rows.add(new ImportRow(i + 2,
+                            new String[] { "Student " + i, "student" + i + "@example.com", "Password" + i }));
+                }
+
+                ImportChunkResult result = importer.importChunk(rows);
+                assertThat(result.accepted()).isEqualTo(ROWS);
+                assertThat(result.errors()).isEmpty();
+            } finally {
+                importer.shutdown();
+            }
+        }
+    }
+}